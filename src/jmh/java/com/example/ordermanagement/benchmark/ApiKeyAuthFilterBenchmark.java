@@ -0,0 +1,78 @@
+package com.example.ordermanagement.benchmark;
+
+import com.example.ordermanagement.security.ApiKeyAuthFilter;
+import com.example.ordermanagement.security.ApiKeyEntry;
+import com.example.ordermanagement.security.ApiKeyRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of {@link ApiKeyAuthFilter} for accepted and rejected keys, excluding the rest of
+ * the filter chain, with 1 and 10,000 registered keys. Rate limiting is on but never reached.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiKeyAuthFilterBenchmark {
+
+    private static final String API_KEY = "550e8400-e29b-41d4-a716-446655440000";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"1", "10000"})
+    private int keys;
+
+    private ApiKeyAuthFilter filter;
+
+    @Setup
+    public void createFilter() throws IOException {
+        List<ApiKeyEntry> clients = new ArrayList<>();
+        for (int i = 1; i < keys; i++) {
+            clients.add(new ApiKeyEntry("client-" + i, List.of(ApiKeyRegistry.hash("key-" + i)), null, null));
+        }
+        Path file = Files.createTempFile("api-keys", ".json");
+        file.toFile().deleteOnExit();
+        new ObjectMapper().writeValue(file.toFile(), clients);
+        ApiKeyRegistry registry = new ApiKeyRegistry(API_KEY, file.toString(), 1e9, 1_000_000);
+        filter = new ApiKeyAuthFilter(registry, AntPathRequestMatcher.antMatcher("/api/orders/**"));
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse validKey() throws ServletException, IOException {
+        return filter(API_KEY);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse invalidKey() throws ServletException, IOException {
+        return filter("not-a-valid-key");
+    }
+
+    private MockHttpServletResponse filter(String apiKey) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders/1");
+        request.setServletPath("/api/orders/1");
+        request.addHeader("X-API-Key", apiKey);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        return response;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.ordermanagement.benchmark;
+
+import com.example.ordermanagement.OrderManagementApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the application without a web server and with SQL logging off, for benchmarks that call
+ * services and repositories directly. Settings are passed as command-line arguments so they take
+ * precedence over application.properties.
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework=WARN",
+                "--logging.level.com.example.ordermanagement=WARN"));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        return new SpringApplicationBuilder(OrderManagementApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.ordermanagement.benchmark;
+
+import com.example.ordermanagement.OrderManagementApplication;
+import com.example.ordermanagement.service.DatabaseSnapshotService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from launching the application on a durable database of many orders to the first served request.
+ *
+ * <p>Not a JMH benchmark: every run is a fresh JVM, launched as a child process with the benchmark's
+ * classpath, and the clock stops at the first {@code 200} from {@code GET /api/orders/{id}}. On its
+ * first run the benchmark creates a file database of {@code coldstart.orders} orders through the
+ * {@code durable} profile and Flyway, plus a compacted snapshot of it. These are kept in
+ * {@code target/cold-start/<orders>} for later runs. Three ways of starting are compared:
+ * <ul>
+ *   <li>{@code durable}: the durable profile, where Flyway finds the schema current and Hibernate does not touch it</li>
+ *   <li>{@code ddl-auto-update}: the same database with Flyway off and {@code ddl-auto=update}, which
+ *       introspects the schema on every start, as the in-memory default does</li>
+ *   <li>{@code snapshot-restore}: no database file, which is restored from the snapshot before start</li>
+ * </ul>
+ *
+ * <p>Run with {@code mvn -Pbenchmark test-compile exec:exec@cold-start}; tune with system properties
+ * {@code coldstart.orders}, {@code coldstart.runs}, {@code coldstart.timeout} and {@code coldstart.jvm-args}
+ * passed through {@code -Dcoldstart.args="-Dcoldstart.runs=5"}. Results are printed and written as
+ * JSON to {@code target/cold-start-result.json}.
+ */
+public final class ColdStartBenchmark {
+
+    private static final String API_KEY = "550e8400-e29b-41d4-a716-446655440000";
+    private static final int SEED_CHUNK = 100_000;
+
+    private ColdStartBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int orders = Integer.getInteger("coldstart.orders", 1_000_000);
+        int runs = Integer.getInteger("coldstart.runs", 3);
+        Duration timeout = Duration.parse(System.getProperty("coldstart.timeout", "PT5M"));
+        List<String> jvmArgs = Arrays.stream(System.getProperty("coldstart.jvm-args", "").split("\\s+"))
+                .filter(arg -> !arg.isBlank())
+                .toList();
+
+        Path directory = Path.of("target", "cold-start", String.valueOf(orders)).toAbsolutePath();
+        Path database = directory.resolve("orders");
+        Path snapshot = directory.resolve("snapshot.mv.db");
+        if (!Files.exists(Path.of(database + ".mv.db")) || !Files.exists(snapshot)) {
+            prepare(directory, database, snapshot, orders);
+        }
+        long probeId = Math.max(1, orders / 2);
+
+        Map<String, List<String>> scenarios = new LinkedHashMap<>();
+        scenarios.put("durable", List.of("--orders.storage.database=" + database));
+        scenarios.put("ddl-auto-update", List.of("--orders.storage.database=" + database,
+                "--spring.flyway.enabled=false", "--spring.jpa.hibernate.ddl-auto=update"));
+        scenarios.put("snapshot-restore", List.of("--orders.snapshot.enabled=true",
+                "--orders.snapshot.file=" + snapshot));
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> scenario : scenarios.entrySet()) {
+            long[] millis = new long[runs];
+            for (int run = 0; run < runs; run++) {
+                Path runDirectory = directory.resolve("run-" + scenario.getKey() + "-" + run);
+                FileSystemUtils.deleteRecursively(runDirectory);
+                Files.createDirectories(runDirectory);
+                List<String> appArgs = new ArrayList<>(scenario.getValue());
+                if (scenario.getKey().equals("snapshot-restore")) {
+                    // A database path that does not exist yet, so every run restores
+                    appArgs.add("--orders.storage.database=" + runDirectory.resolve("orders"));
+                }
+                appArgs.add("--orders.journal.directory=" + runDirectory.resolve("journal"));
+                millis[run] = timeToFirstRequest(jvmArgs, appArgs, runDirectory, probeId, timeout);
+                System.out.printf("%-16s run %d: %d ms%n", scenario.getKey(), run + 1, millis[run]);
+            }
+            Arrays.sort(millis);
+            results.put(scenario.getKey(), new Result(millis[0], millis[runs / 2], millis[runs - 1]));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("orders", orders);
+        report.put("runs", runs);
+        report.put("databaseBytes", Files.size(Path.of(database + ".mv.db")));
+        report.put("snapshotBytes", Files.size(snapshot));
+        report.put("results", results);
+        results.forEach((name, result) -> System.out.printf("%-16s min=%d ms median=%d ms max=%d ms%n",
+                name, result.minMillis(), result.medianMillis(), result.maxMillis()));
+        Path out = Path.of("target", "cold-start-result.json");
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(out.toFile(), report);
+        System.out.println("Results written to " + out.toAbsolutePath());
+    }
+
+    // Creates the schema through Flyway, bulk-inserts the orders in SQL and writes the snapshot
+    private static void prepare(Path directory, Path database, Path snapshot, int orders) throws IOException {
+        FileSystemUtils.deleteRecursively(directory);
+        Files.createDirectories(directory);
+        System.out.printf("Creating a database of %d orders in %s%n", orders, directory);
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(OrderManagementApplication.class)
+                .profiles("durable")
+                .run("--server.port=0",
+                        "--orders.storage.database=" + database,
+                        "--orders.snapshot.file=" + snapshot,
+                        "--orders.journal.enabled=false",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework=WARN",
+                        "--logging.level.com.example.ordermanagement=WARN")) {
+            JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+            for (int from = 1; from <= orders; from += SEED_CHUNK) {
+                int to = Math.min(orders, from + SEED_CHUNK - 1);
+                jdbc.update("insert into cust_order (id, customer_name, customer_email, status, version, created_at,"
+                        + " updated_at, total_minor_units, currency)"
+                        + " select x, 'Customer ' || x, 'customer' || x || '@example.com',"
+                        + " case mod(x, 5) when 0 then 'PENDING' when 1 then 'PROCESSING' when 2 then 'SHIPPED'"
+                        + " when 3 then 'DELIVERED' else 'CANCELLED' end, 0,"
+                        + " dateadd(second, x, timestamp '2024-01-01 00:00:00'),"
+                        + " dateadd(second, x, timestamp '2024-01-01 00:00:00'), 1998, 'USD'"
+                        + " from system_range(?, ?)", from, to);
+                jdbc.update("insert into order_item (id, order_id, product_name, quantity, price_minor_units, price_currency)"
+                        + " select x, x, 'Product', 2, 999, 'USD' from system_range(?, ?)", from, to);
+            }
+            // Past every seeded id, including the block of 50 a pooled sequence hands out
+            jdbc.execute("alter sequence cust_order_seq restart with " + (orders + 100));
+            jdbc.execute("alter sequence order_item_seq restart with " + (orders + 100));
+            context.getBean(DatabaseSnapshotService.class).createSnapshot();
+        }
+        System.out.printf("Database %d bytes, snapshot %d bytes%n",
+                Files.size(Path.of(database + ".mv.db")), Files.size(snapshot));
+    }
+
+    private static long timeToFirstRequest(List<String> jvmArgs, List<String> appArgs, Path runDirectory,
+                                           long probeId, Duration timeout) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.addAll(List.of("-cp", System.getProperty("java.class.path"),
+                OrderManagementApplication.class.getName(),
+                "--server.port=" + port,
+                "--spring.profiles.active=durable",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework=WARN",
+                "--logging.level.com.example.ordermanagement=WARN"));
+        command.addAll(appArgs);
+        Path log = runDirectory.resolve("application.log");
+
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/orders/" + probeId))
+                .header("X-API-Key", API_KEY)
+                .build();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            long deadline = start + timeout.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue() + ", see " + log);
+                }
+                try {
+                    if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException ex) {
+                    // Not listening yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("No successful response within " + timeout + ", see " + log);
+        } finally {
+            // Graceful stop, so the database is closed cleanly for the next run
+            process.destroy();
+            if (!process.waitFor(2, TimeUnit.MINUTES)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    record Result(long minMillis, long medianMillis, long maxMillis) {
+    }
+}
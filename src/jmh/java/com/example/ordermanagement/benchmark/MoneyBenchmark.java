@@ -0,0 +1,90 @@
+package com.example.ordermanagement.benchmark;
+
+import com.example.ordermanagement.model.Money;
+import com.example.ordermanagement.model.Order;
+import com.example.ordermanagement.model.OrderItem;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summing item subtotals with the fixed-point {@link Money} representation versus the previous boxed
+ * {@code Integer}/{@code Double} fields, replicated here by {@link DoubleItem}.
+ *
+ * <p>Run with {@code -prof gc} to compare allocation per operation. The retained heap of both item
+ * lists, measured with JOL, is printed once per fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    @Param({"1000000"})
+    private int itemCount;
+
+    private List<DoubleItem> doubleItems;
+    private List<OrderItem> moneyItems;
+
+    @Setup
+    public void createItems() {
+        doubleItems = new ArrayList<>(itemCount);
+        moneyItems = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            String productName = "Product " + (i % 100);
+            int quantity = 1 + i % 5;
+            long cents = 99 + 100L * (i % 1000);
+            doubleItems.add(new DoubleItem(productName, quantity, cents / 100.0));
+            moneyItems.add(new OrderItem(productName, quantity, Money.ofMinor(cents, Money.DEFAULT_CURRENCY)));
+        }
+        long doubleBytes = GraphLayout.parseInstance(doubleItems).totalSize();
+        long moneyBytes = GraphLayout.parseInstance(moneyItems).totalSize();
+        System.out.printf("%nRetained heap for %,d items: Integer/Double %,d bytes (%.1f per item), Money %,d bytes (%.1f per item)%n",
+                itemCount, doubleBytes, (double) doubleBytes / itemCount, moneyBytes, (double) moneyBytes / itemCount);
+    }
+
+    @Benchmark
+    public double doubleTotal() {
+        // Previous Order.getTotalAmount
+        return doubleItems.stream()
+                .mapToDouble(item -> item.price * item.quantity)
+                .sum();
+    }
+
+    @Benchmark
+    public long moneyTotal() {
+        long total = 0;
+        for (int i = 0, n = moneyItems.size(); i < n; i++) {
+            total = Math.addExact(total, moneyItems.get(i).getSubtotalMinorUnits());
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Money orderRecalculateTotal() {
+        // Full recomputation as done on insert and setItems, including the currency checks
+        Order order = new Order();
+        order.setItems(moneyItems);
+        return order.getTotalAmount();
+    }
+
+    // Same fields as OrderItem had before the switch to Money
+    static final class DoubleItem {
+        Long id;
+        String productName;
+        Integer quantity;
+        Double price;
+        Order order;
+
+        DoubleItem(String productName, Integer quantity, Double price) {
+            this.productName = productName;
+            this.quantity = quantity;
+            this.price = price;
+        }
+    }
+}
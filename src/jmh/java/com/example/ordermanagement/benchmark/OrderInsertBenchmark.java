@@ -0,0 +1,52 @@
+package com.example.ordermanagement.benchmark;
+
+import com.example.ordermanagement.model.Money;
+import com.example.ordermanagement.model.Order;
+import com.example.ordermanagement.model.OrderItem;
+import com.example.ordermanagement.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput of {@link OrderService#createOrder} against the embedded H2 database for orders
+ * with 10 to 50 items. Run it on the revision before and after an id-generation or batching change
+ * to compare.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 8, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class OrderInsertBenchmark {
+
+    @Param({"10", "25", "50"})
+    private int itemCount;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start();
+        orderService = context.getBean(OrderService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Order createOrder() {
+        Order order = new Order();
+        order.setCustomerName("Benchmark Customer");
+        order.setCustomerEmail("benchmark@example.com");
+        for (int i = 0; i < itemCount; i++) {
+            order.addItem(new OrderItem("Product " + i, 1 + i % 3, Money.of("9.99")));
+        }
+        return orderService.createOrder(order);
+    }
+}
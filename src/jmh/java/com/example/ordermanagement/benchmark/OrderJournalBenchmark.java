@@ -0,0 +1,61 @@
+package com.example.ordermanagement.benchmark;
+
+import com.example.ordermanagement.model.Order;
+import com.example.ordermanagement.model.OrderStatus;
+import com.example.ordermanagement.service.OrderJournal;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost the event journal adds to a write: one memory-mapped append, with the group fsync running on
+ * the flusher thread. Run with {@code -t 4} to see contention on the append lock.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderJournalBenchmark {
+
+    @Param({"PT0.01S"})
+    private String flushInterval;
+
+    private Path directory;
+    private OrderJournal journal;
+    private Order order;
+
+    @Setup(Level.Trial)
+    public void openJournal() throws IOException {
+        directory = Files.createTempDirectory("order-journal-benchmark");
+        journal = new OrderJournal(true, directory, DataSize.ofMegabytes(256), Duration.parse(flushInterval));
+        journal.start();
+        order = new Order();
+        order.setId(42L);
+    }
+
+    @TearDown(Level.Trial)
+    public void closeJournal() throws IOException {
+        journal.stop();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public void recordCreated() {
+        // No transaction is active, so the event is appended immediately
+        journal.recordCreated(order);
+    }
+
+    @Benchmark
+    public void recordTransition() {
+        journal.recordTransitions(List.of(42L), OrderStatus.PENDING, OrderStatus.PROCESSING);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.ordermanagement.benchmark;
+
+import com.example.ordermanagement.model.Money;
+import com.example.ordermanagement.model.Order;
+import com.example.ordermanagement.model.OrderItem;
+import com.example.ordermanagement.repository.OrderRepository;
+import com.example.ordermanagement.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link OrderService#getOrderById} against the embedded H2 database, served from the order cache,
+ * compared with the uncached repository load it replaces.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 8, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class OrderLookupBenchmark {
+
+    private static final int ORDER_COUNT = 1000;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private OrderRepository orderRepository;
+    private long firstId;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start();
+        orderService = context.getBean(OrderService.class);
+        orderRepository = context.getBean(OrderRepository.class);
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            Order order = new Order();
+            order.setCustomerName("Customer " + i);
+            order.addItem(new OrderItem("Product A", 1, Money.of("19.99")));
+            order.addItem(new OrderItem("Product B", 2, Money.of("5.49")));
+            Long id = orderService.createOrder(order).getId();
+            if (i == 0) {
+                firstId = id;
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    private Long nextId() {
+        next = (next + 1) % ORDER_COUNT;
+        return firstId + next;
+    }
+
+    @Benchmark
+    public Order getOrderById() {
+        return orderService.getOrderById(nextId());
+    }
+
+    @Benchmark
+    public Order findWithItemsById() {
+        return orderRepository.findWithItemsById(nextId()).orElseThrow();
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.ordermanagement.benchmark;
+
+import com.example.ordermanagement.exception.GlobalExceptionHandler;
+import com.example.ordermanagement.exception.OrderNotFoundException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the 404 path: an order lookup misses {@code stackDepth} frames below the exception
+ * handler, the handler builds the error body, and Jackson writes it. A request reaches the service
+ * through Tomcat, the filter chain and Spring MVC, roughly 150 frames deep.
+ *
+ * <p>{@code previous} is the former path, kept here: an exception with a stack trace and a
+ * {@code HashMap} body. {@code current} uses {@link OrderNotFoundException} and
+ * {@link GlobalExceptionHandler} as they are now.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderNotFoundBenchmark {
+
+    @Param({"20", "150"})
+    private int stackDepth;
+
+    private ObjectMapper objectMapper;
+    private GlobalExceptionHandler handler;
+
+    @Setup
+    public void createHandler() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        handler = new GlobalExceptionHandler();
+    }
+
+    @Benchmark
+    public byte[] previous() throws JsonProcessingException {
+        try {
+            lookup(stackDepth, 42L, true);
+            throw new AssertionError();
+        } catch (PreviousOrderNotFoundException ex) {
+            Map<String, Object> body = new HashMap<>();
+            body.put("timestamp", LocalDateTime.now());
+            body.put("message", ex.getMessage());
+            body.put("status", 404);
+            body.put("error", "Not Found");
+            return objectMapper.writeValueAsBytes(body);
+        }
+    }
+
+    @Benchmark
+    public byte[] current() throws JsonProcessingException {
+        try {
+            lookup(stackDepth, 42L, false);
+            throw new AssertionError();
+        } catch (OrderNotFoundException ex) {
+            return objectMapper.writeValueAsBytes(handler.handleOrderNotFoundException(ex).getBody());
+        }
+    }
+
+    private static long lookup(int depth, Long id, boolean previous) {
+        if (depth > 0) {
+            return lookup(depth - 1, id, previous) + 1;
+        }
+        throw previous ? new PreviousOrderNotFoundException(id) : new OrderNotFoundException(id);
+    }
+
+    // OrderNotFoundException before it became stackless
+    static class PreviousOrderNotFoundException extends RuntimeException {
+        PreviousOrderNotFoundException(Long orderId) {
+            super("Order not found with id: " + orderId);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.ordermanagement.benchmark;
+
+import com.example.ordermanagement.model.Money;
+import com.example.ordermanagement.model.Order;
+import com.example.ordermanagement.model.OrderItem;
+import com.example.ordermanagement.model.OrderStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a single {@link Order} and of order lists, using an ObjectMapper built
+ * with the same defaults Spring MVC applies.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderSerializationBenchmark {
+
+    private static final int ITEMS_PER_ORDER = 5;
+
+    @State(Scope.Benchmark)
+    public static class SingleOrder {
+        ObjectMapper objectMapper;
+        Order order;
+
+        @Setup
+        public void createOrder() {
+            objectMapper = Jackson2ObjectMapperBuilder.json().build();
+            order = newOrder(1);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class OrderList {
+        @Param({"10", "100", "1000"})
+        int listSize;
+
+        ObjectMapper objectMapper;
+        List<Order> orders;
+
+        @Setup
+        public void createOrders() {
+            objectMapper = Jackson2ObjectMapperBuilder.json().build();
+            orders = new ArrayList<>(listSize);
+            for (int i = 0; i < listSize; i++) {
+                orders.add(newOrder(i));
+            }
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeOrder(SingleOrder state) throws JsonProcessingException {
+        return state.objectMapper.writeValueAsBytes(state.order);
+    }
+
+    @Benchmark
+    public byte[] serializeOrderList(OrderList state) throws JsonProcessingException {
+        return state.objectMapper.writeValueAsBytes(state.orders);
+    }
+
+    static Order newOrder(long id) {
+        Order order = new Order();
+        order.setId(id);
+        order.setCustomerName("Customer " + id);
+        order.setCustomerEmail("customer" + id + "@example.com");
+        order.setStatus(OrderStatus.values()[(int) (id % OrderStatus.values().length)]);
+        order.setCreatedAt(LocalDateTime.of(2024, 4, 1, 12, 0).plusSeconds(id));
+        order.setUpdatedAt(order.getCreatedAt());
+        for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+            OrderItem item = new OrderItem("Product " + i, 1 + i, Money.ofMinor(999L * (i + 1), Money.DEFAULT_CURRENCY));
+            item.setId(id * ITEMS_PER_ORDER + i);
+            order.addItem(item);
+        }
+        return order;
+    }
+}
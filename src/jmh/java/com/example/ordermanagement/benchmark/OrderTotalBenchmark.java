@@ -0,0 +1,39 @@
+package com.example.ordermanagement.benchmark;
+
+import com.example.ordermanagement.model.Money;
+import com.example.ordermanagement.model.Order;
+import com.example.ordermanagement.model.OrderItem;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link Order#getTotalAmount()}, which Jackson calls for every serialized order. The total
+ * is kept on the order as items are added, so the read should not grow with the item count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderTotalBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    private int itemCount;
+
+    private Order order;
+
+    @Setup
+    public void createOrder() {
+        order = new Order();
+        for (int i = 0; i < itemCount; i++) {
+            order.addItem(new OrderItem("Product " + i, 1 + i % 5, Money.ofMinor(99L + 100L * i, Money.DEFAULT_CURRENCY)));
+        }
+    }
+
+    @Benchmark
+    public Money getTotalAmount() {
+        return order.getTotalAmount();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.ordermanagement.benchmark;
+
+import com.example.ordermanagement.model.Order;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cost of putting 10,000 orders on the wire in each format the API offers: CPU time to encode them
+ * (and gzip them, at the default level Tomcat uses) and the resulting size, printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderWireFormatBenchmark {
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    @Param({"none", "gzip"})
+    private String compression;
+
+    @Param({"10000"})
+    private int orderCount;
+
+    private ObjectWriter writer;
+    private List<Order> orders;
+    private int expectedSize;
+
+    @Setup
+    public void createOrders() throws IOException {
+        // Copies of the JSON mapper, as in WireFormatConfig
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper mapper = switch (format) {
+            case "json" -> json;
+            case "smile" -> json.copyWith(new SmileFactory());
+            case "cbor" -> json.copyWith(new CBORFactory());
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+        writer = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, Order.class));
+        orders = new ArrayList<>(orderCount);
+        for (int i = 0; i < orderCount; i++) {
+            orders.add(OrderSerializationBenchmark.newOrder(i));
+        }
+        byte[] encoded = encode();
+        expectedSize = encoded.length;
+        System.out.printf("%n%s/%s: %,d bytes for %,d orders (%.1f per order)%n",
+                format, compression, encoded.length, orderCount, (double) encoded.length / orderCount);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(expectedSize > 0 ? expectedSize : 1 << 20);
+        if ("gzip".equals(compression)) {
+            try (OutputStream out = new GZIPOutputStream(bytes, 8192)) {
+                writer.writeValue(out, orders);
+            }
+        } else {
+            writer.writeValue(bytes, orders);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.ordermanagement.benchmark;
+
+import com.example.ordermanagement.OrderManagementApplication;
+import com.example.ordermanagement.model.Money;
+import com.example.ordermanagement.model.Order;
+import com.example.ordermanagement.model.OrderItem;
+import com.example.ordermanagement.service.OrderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load test comparing the platform-thread Tomcat pool with virtual threads.
+ *
+ * <p>Not a JMH benchmark: JMH measures single operations in one JVM, while this drives a running
+ * server with many concurrent clients and reports throughput and tail latency. Each mode starts its
+ * own application on a random port with the order cache disabled and a fixed delay added to every
+ * connection checkout, standing in for the network round trip to a remote database. Requests are
+ * {@code GET /api/orders/{id}} for random seeded ids.
+ *
+ * <p>Run with {@code mvn -Pbenchmark test-compile exec:exec@load-test}; tune with system properties
+ * {@code load.clients}, {@code load.duration}, {@code load.warmup}, {@code load.db-latency} and
+ * {@code load.orders} passed through {@code -Dload.args="-Dload.clients=1000"}. Results are printed
+ * and written as JSON to {@code target/load-result.json}.
+ */
+public final class VirtualThreadLoadBenchmark {
+
+    private static final String API_KEY = "550e8400-e29b-41d4-a716-446655440000";
+
+    private VirtualThreadLoadBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = Integer.getInteger("load.clients", 500);
+        Duration warmup = Duration.parse(System.getProperty("load.warmup", "PT10S"));
+        Duration duration = Duration.parse(System.getProperty("load.duration", "PT30S"));
+        Duration dbLatency = Duration.parse(System.getProperty("load.db-latency", "PT0.02S"));
+        int orders = Integer.getInteger("load.orders", 1000);
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (boolean virtual : new boolean[]{false, true}) {
+            String mode = virtual ? "virtual" : "platform";
+            try (ConfigurableApplicationContext context = start(virtual, dbLatency)) {
+                List<Long> ids = seed(context.getBean(OrderService.class), orders);
+                String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+                run(baseUrl, ids, clients, warmup);
+                Result result = run(baseUrl, ids, clients, duration);
+                results.put(mode, result);
+                System.out.printf("%-8s clients=%d throughput=%.1f req/s p50=%.1f ms p99=%.1f ms errors=%d%n",
+                        mode, clients, result.throughput(), result.p50Millis(), result.p99Millis(), result.errors());
+            }
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("clients", clients);
+        report.put("duration", duration.toString());
+        report.put("dbLatency", dbLatency.toString());
+        report.put("results", results);
+        Path out = Path.of("target", "load-result.json");
+        Files.createDirectories(out.getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(out.toFile(), report);
+        System.out.println("Results written to " + out.toAbsolutePath());
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtual, Duration dbLatency) {
+        return new SpringApplicationBuilder(OrderManagementApplication.class)
+                .initializers(context -> context.getBeanFactory().addBeanPostProcessor(delayConnections(dbLatency)))
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        "--spring.datasource.url=jdbc:h2:mem:load-" + virtual + ";DB_CLOSE_DELAY=-1",
+                        // Same Tomcat pool size in both modes; the connection pool is no bottleneck
+                        "--server.tomcat.threads.max=200",
+                        "--spring.datasource.hikari.maximum-pool-size=50",
+                        "--orders.cache.maximum-size=0",
+                        // Hundreds of clients share one key; its rate limit would be the bottleneck
+                        "--api.keys.default-requests-per-second=0",
+                        // Measures the thread model itself, so nothing is shed
+                        "--orders.admission.enabled=false",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework=WARN",
+                        "--logging.level.com.example.ordermanagement=WARN");
+    }
+
+    private static BeanPostProcessor delayConnections(Duration latency) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource)) {
+                    return bean;
+                }
+                return Proxy.newProxyInstance(DataSource.class.getClassLoader(), new Class<?>[]{DataSource.class},
+                        (proxy, method, methodArgs) -> {
+                            if (method.getName().equals("getConnection")) {
+                                Thread.sleep(latency);
+                            }
+                            try {
+                                return method.invoke(dataSource, methodArgs);
+                            } catch (InvocationTargetException ex) {
+                                throw ex.getCause();
+                            }
+                        });
+            }
+        };
+    }
+
+    private static List<Long> seed(OrderService orderService, int count) {
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Order order = new Order();
+            order.setCustomerName("Load " + i);
+            order.setCustomerEmail("load" + i + "@example.com");
+            for (int j = 0; j < 5; j++) {
+                order.addItem(new OrderItem("Product " + j, 1 + j, Money.of("9.99")));
+            }
+            ids.add(orderService.createOrder(order).getId());
+        }
+        return ids;
+    }
+
+    private static Result run(String baseUrl, List<Long> ids, int clients, Duration duration) throws Exception {
+        HttpClient http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<Future<long[]>> futures = new ArrayList<>(clients);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                futures.add(executor.submit(() -> {
+                    long[] latencies = new long[1024];
+                    int n = 0;
+                    while (System.nanoTime() < deadline) {
+                        Long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/orders/" + id))
+                                .header("X-API-Key", API_KEY)
+                                .build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (IOException ex) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (n == latencies.length) {
+                            latencies = Arrays.copyOf(latencies, n * 2);
+                        }
+                        latencies[n++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(latencies, n);
+                }));
+            }
+        }
+        List<long[]> perClient = new ArrayList<>(clients);
+        int total = 0;
+        for (Future<long[]> future : futures) {
+            long[] latencies = future.get();
+            perClient.add(latencies);
+            total += latencies.length;
+        }
+        long[] all = new long[total];
+        int offset = 0;
+        for (long[] latencies : perClient) {
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+            offset += latencies.length;
+        }
+        Arrays.sort(all);
+        return new Result(total / (duration.toNanos() / 1e9),
+                percentileMillis(all, 0.50), percentileMillis(all, 0.99), errors.get());
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    record Result(double throughput, double p50Millis, double p99Millis, long errors) {
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.ordermanagement.config;
+
+import com.example.ordermanagement.web.AdaptiveConcurrencyLimiter;
+import com.example.ordermanagement.web.AdmissionControlFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.Set;
+
+@Configuration
+public class AdmissionControlConfig {
+
+    @Bean
+    public AdmissionControlFilter admissionControlFilter(
+            Environment environment,
+            @Value("${orders.admission.unsampled-paths:/api/orders/export,/api/orders/batch}") Set<String> unsampledPaths) {
+        return new AdmissionControlFilter(
+                limiter(environment, "read", 50, 8, 200, Duration.ofMillis(100)),
+                limiter(environment, "write", 20, 4, 100, Duration.ofMillis(250)),
+                unsampledPaths);
+    }
+
+    // Runs right after Spring Security, so requests without a valid key or over their client's
+    // rate limit are turned away before they take a slot
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilterRegistration(
+            AdmissionControlFilter filter,
+            @Value("${orders.admission.enabled:true}") boolean enabled) {
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/orders/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        registration.setEnabled(enabled);
+        return registration;
+    }
+
+    private static AdaptiveConcurrencyLimiter limiter(Environment environment, String type, int initialLimit,
+                                                      int minLimit, int maxLimit, Duration latencyThreshold) {
+        String prefix = "orders.admission." + type + ".";
+        return new AdaptiveConcurrencyLimiter(
+                environment.getProperty(prefix + "initial-limit", Integer.class, initialLimit),
+                environment.getProperty(prefix + "min-limit", Integer.class, minLimit),
+                environment.getProperty(prefix + "max-limit", Integer.class, maxLimit),
+                environment.getProperty(prefix + "latency-threshold", Duration.class, latencyThreshold),
+                environment.getProperty("orders.admission.backoff-ratio", Double.class, 0.9));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.ordermanagement.config;
+
+import com.example.ordermanagement.service.DatabaseSnapshotService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+@Slf4j
+@Configuration
+public class DatabaseSnapshotConfig {
+
+    // A bean factory post-processor runs before any bean is created, so the snapshot is in place
+    // before the DataSource (and Flyway) open the database
+    @Bean
+    public static BeanFactoryPostProcessor databaseSnapshotRestorer(Environment environment) {
+        return beanFactory -> {
+            if (!environment.getProperty("orders.snapshot.enabled", Boolean.class, false)) {
+                return;
+            }
+            String database = environment.getProperty("orders.storage.database");
+            if (database == null) {
+                log.warn("orders.snapshot.enabled is set but no file database is configured, nothing to restore");
+                return;
+            }
+            Path snapshot = Path.of(environment.getProperty("orders.snapshot.file", "data/orders-snapshot.mv.db"));
+            Path databaseFile = Path.of(database + ".mv.db");
+            try {
+                if (DatabaseSnapshotService.restoreIfMissing(snapshot, databaseFile)) {
+                    log.info("Restored database {} from snapshot {}", databaseFile, snapshot);
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Cannot restore database snapshot " + snapshot, ex);
+            }
+        };
+    }
+}
@@ -1,6 +1,6 @@
 package com.example.ordermanagement.config;
 
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -8,14 +8,29 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.NegatedRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import com.example.ordermanagement.security.ApiKeyAuthFilter;
+import com.example.ordermanagement.security.ApiKeyRegistry;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
-    @Value("${api.key}")
-    private String apiKey;
+    // The same matcher decides what needs authentication and where the API key filter runs. Only
+    // health probes are public: metrics carry per-client tags, and the H2 console opens the database.
+    private static final RequestMatcher PROTECTED_PATHS = new OrRequestMatcher(
+            AntPathRequestMatcher.antMatcher("/api/orders/**"),
+            new AndRequestMatcher(
+                    AntPathRequestMatcher.antMatcher("/actuator/**"),
+                    new NegatedRequestMatcher(AntPathRequestMatcher.antMatcher("/actuator/health/**"))),
+            AntPathRequestMatcher.antMatcher("/h2-console/**"));
+
+    @Autowired
+    private ApiKeyRegistry apiKeyRegistry;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -23,11 +38,11 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/api/orders/**").authenticated()
+                .requestMatchers(PROTECTED_PATHS).authenticated()
                 .anyRequest().permitAll()
             )
-            .addFilterBefore(new ApiKeyAuthFilter(apiKey), UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(new ApiKeyAuthFilter(apiKeyRegistry, PROTECTED_PATHS), UsernamePasswordAuthenticationFilter.class);
         
         return http.build();
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,50 @@
+package com.example.ordermanagement.config;
+
+import com.example.ordermanagement.web.ContentLengthFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.util.Set;
+
+/**
+ * Binary encodings of the API, chosen by the {@code Accept} header: Smile
+ * ({@code application/x-jackson-smile}) and CBOR ({@code application/cbor}). JSON stays the default.
+ *
+ * <p>Both mappers are copies of Spring Boot's JSON mapper, so they share its modules and settings
+ * (Money, dates) and clients see the same fields in every format. The converters replace Spring
+ * MVC's defaults for these types in place, which keeps JSON first for {@code Accept: *}{@code /*}.
+ *
+ * <p>Responses in any of the formats are gzipped by Tomcat ({@code server.compression.*}) once they
+ * reach the minimum size; {@link ContentLengthFilter} makes that size known up front.
+ */
+@Configuration
+public class WireFormatConfig {
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2SmileHttpMessageConverter(objectMapper.copyWith(new SmileFactory()));
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2CborHttpMessageConverter(objectMapper.copyWith(new CBORFactory()));
+    }
+
+    @Bean
+    public FilterRegistrationBean<ContentLengthFilter> contentLengthFilterRegistration(
+            @Value("${orders.compression.streaming-paths:/api/orders/export,/api/orders/batch}") Set<String> streamingPaths) {
+        FilterRegistrationBean<ContentLengthFilter> registration =
+                new FilterRegistrationBean<>(new ContentLengthFilter(streamingPaths));
+        registration.addUrlPatterns("/api/orders/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 2);
+        return registration;
+    }
+}
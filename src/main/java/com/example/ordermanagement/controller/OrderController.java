@@ -1,14 +1,32 @@
 package com.example.ordermanagement.controller;
 
+import com.example.ordermanagement.dto.BatchOrderResponse;
+import com.example.ordermanagement.dto.CursorPage;
+import com.example.ordermanagement.dto.IntakeStatus;
+import com.example.ordermanagement.dto.OrderSummary;
+import com.example.ordermanagement.dto.OrderVersion;
 import com.example.ordermanagement.model.Order;
 import com.example.ordermanagement.model.OrderStatus;
+import com.example.ordermanagement.service.ExportFormat;
+import com.example.ordermanagement.service.OrderBatchService;
+import com.example.ordermanagement.service.OrderExportService;
+import com.example.ordermanagement.service.OrderIntakeService;
 import com.example.ordermanagement.service.OrderService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -17,23 +35,119 @@ public class OrderController {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private OrderBatchService orderBatchService;
+
+    @Autowired
+    private OrderIntakeService orderIntakeService;
+
     @PostMapping
-    public ResponseEntity<Order> createOrder(@RequestBody Order order) {
+    public ResponseEntity<?> createOrder(@RequestBody Order order) {
+        if (orderIntakeService.isEnabled()) {
+            IntakeStatus status = orderIntakeService.submit(order);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/orders/intake/" + status.getIntakeId()))
+                    .body(status);
+        }
         return ResponseEntity.ok(orderService.createOrder(order));
     }
 
+    @GetMapping("/intake/{intakeId}")
+    public ResponseEntity<IntakeStatus> getIntakeStatus(@PathVariable String intakeId) {
+        return ResponseEntity.ok(orderIntakeService.getStatus(intakeId));
+    }
+
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    public ResponseEntity<BatchOrderResponse> createOrders(InputStream body) throws IOException {
+        return ResponseEntity.ok(orderBatchService.createOrders(body));
+    }
+
+    // Conditional GETs are answered from version-only lookups before anything is hydrated; checkNotModified
+    // sets the 304 status and a null return leaves the response without a body.
+
     @GetMapping("/{id}")
-    public ResponseEntity<Order> getOrderById(@PathVariable Long id) {
-       return ResponseEntity.ok(orderService.getOrderById(id));
+    public ResponseEntity<Order> getOrderById(@PathVariable Long id, WebRequest request) {
+        if (isRevalidation(request)
+                && request.checkNotModified(OrderETags.forOrder(id, orderService.getOrderVersion(id)))) {
+            return null;
+        }
+        Order order = orderService.getOrderById(id);
+        return ResponseEntity.ok()
+                .eTag(OrderETags.forOrder(order.getId(), order.getVersion()))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(order);
     }
 
     @GetMapping
-    public ResponseEntity<List<Order>> getAllOrders(
-            @RequestParam(required = false) OrderStatus status) {
-        if (status != null) {
-                return ResponseEntity.ok(orderService.getOrdersByStatus(status));
-            }
-        return ResponseEntity.ok(orderService.getAllOrders());
+    public ResponseEntity<CursorPage<Order>> getAllOrders(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        if (isRevalidation(request)
+                && request.checkNotModified(OrderETags.forPage(
+                        orderService.getOrderVersions(status, cursor, size), OrderVersion::getId, OrderVersion::getVersion))) {
+            return null;
+        }
+        CursorPage<Order> page = orderService.getOrders(status, cursor, size);
+        return ResponseEntity.ok()
+                .eTag(OrderETags.forPage(page, Order::getId, Order::getVersion))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(page);
+    }
+
+    // Summaries are a single header-only query already, so there is nothing cheaper to check first; the
+    // ETag still lets Spring answer a matching If-None-Match with 304 without serializing the page
+    @GetMapping("/summary")
+    public ResponseEntity<CursorPage<OrderSummary>> getOrderSummaries(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<OrderSummary> page = orderService.getOrderSummaries(status, cursor, size);
+        return ResponseEntity.ok()
+                .eTag(OrderETags.forPage(page, OrderSummary::getId, OrderSummary::getVersion))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(page);
+    }
+
+    private static boolean isRevalidation(WebRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null;
+    }
+
+    // Served from in-memory counters; no orders are read
+    @GetMapping("/status-counts")
+    public ResponseEntity<Map<OrderStatus, Long>> getStatusCounts() {
+        return ResponseEntity.ok(orderService.getStatusCounts());
+    }
+
+    @GetMapping("/customer")
+    public ResponseEntity<CursorPage<Order>> getOrdersByCustomerEmail(
+            @RequestParam String email,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPage<Order> page = orderService.getOrdersByCustomerEmail(email, cursor, size);
+        return ResponseEntity.ok()
+                .eTag(OrderETags.forPage(page, Order::getId, Order::getVersion))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(page);
+    }
+
+    @GetMapping("/export")
+    public void exportOrders(
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            HttpServletResponse response) throws IOException {
+        // Checked up front: once the export content type is set, errors can no longer be rendered as JSON
+        OrderExportService.requireValidRange(from, to);
+        ExportFormat format = ExportFormat.fromAccept(accept);
+        response.setContentType(format.getContentType());
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        orderExportService.exportOrders(status, from, to, format, response.getOutputStream());
     }
 
     @PutMapping(value = "/{id}/status", consumes = MediaType.APPLICATION_JSON_VALUE)
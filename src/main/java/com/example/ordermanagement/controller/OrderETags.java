@@ -0,0 +1,42 @@
+package com.example.ordermanagement.controller;
+
+import com.example.ordermanagement.dto.CursorPage;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.function.Function;
+
+/**
+ * Validators for order responses. Every write increments an order's version, so an order's ETag is
+ * its id and version, and a page's ETag is a digest of the id and version of every row on it plus
+ * the cursor to the next page.
+ *
+ * <p>The ETags are weak: the same order state is served as JSON, Smile or CBOR, gzipped or not, and
+ * these byte-wise different bodies are all equivalent. A strong ETag would also keep Tomcat from
+ * compressing the response. If-None-Match uses weak comparison, so revalidation works as before.
+ */
+final class OrderETags {
+
+    private OrderETags() {
+    }
+
+    static String forOrder(Long id, Long version) {
+        return "W/\"" + id + "-" + version + "\"";
+    }
+
+    static <T> String forPage(CursorPage<T> page, Function<T, Long> id, Function<T, Long> version) {
+        StringBuilder state = new StringBuilder();
+        for (T row : page.getContent()) {
+            state.append(id.apply(row)).append('-').append(version.apply(row)).append(';');
+        }
+        state.append(page.getNextCursor());
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(state.toString().getBytes(StandardCharsets.UTF_8));
+            return "W/\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
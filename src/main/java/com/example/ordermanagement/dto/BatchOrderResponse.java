@@ -0,0 +1,22 @@
+package com.example.ordermanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOrderResponse {
+    private int received;
+    private int created;
+    private int failed;
+    private List<BatchOrderResult> results;
+
+    public static BatchOrderResponse of(List<BatchOrderResult> results) {
+        int created = (int) results.stream().filter(BatchOrderResult::isCreated).count();
+        return new BatchOrderResponse(results.size(), created, results.size() - created, results);
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.ordermanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOrderResult {
+    private int index;
+    private Long orderId;
+    private boolean created;
+    private String error;
+
+    public static BatchOrderResult created(int index, Long orderId) {
+        return new BatchOrderResult(index, orderId, true, null);
+    }
+
+    public static BatchOrderResult failed(int index, String error) {
+        return new BatchOrderResult(index, null, false, error);
+    }
+}
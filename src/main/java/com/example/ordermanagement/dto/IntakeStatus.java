@@ -0,0 +1,32 @@
+package com.example.ordermanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IntakeStatus {
+
+    public enum State {
+        QUEUED, PERSISTED, FAILED
+    }
+
+    private String intakeId;
+    private State state;
+    private Long orderId;
+    private String error;
+
+    public static IntakeStatus queued(String intakeId) {
+        return new IntakeStatus(intakeId, State.QUEUED, null, null);
+    }
+
+    public static IntakeStatus persisted(String intakeId, Long orderId) {
+        return new IntakeStatus(intakeId, State.PERSISTED, orderId, null);
+    }
+
+    public static IntakeStatus failed(String intakeId, String error) {
+        return new IntakeStatus(intakeId, State.FAILED, null, error);
+    }
+}
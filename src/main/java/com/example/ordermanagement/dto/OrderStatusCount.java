@@ -0,0 +1,14 @@
+package com.example.ordermanagement.dto;
+
+import com.example.ordermanagement.model.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusCount {
+    private OrderStatus status;
+    private Long count;
+}
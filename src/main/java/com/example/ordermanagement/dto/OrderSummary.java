@@ -0,0 +1,35 @@
+package com.example.ordermanagement.dto;
+
+import com.example.ordermanagement.model.Money;
+import com.example.ordermanagement.model.OrderStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Currency;
+
+/**
+ * Order header without items, read by a constructor-expression query straight from {@code cust_order}.
+ * The constructor parameter order is part of the queries in {@code OrderRepository}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderSummary {
+    private Long id;
+    private String customerName;
+    private String customerEmail;
+    private OrderStatus status;
+    private Long version;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    @JsonIgnore
+    private long totalMinorUnits;
+    private Currency currency;
+
+    public Money getTotalAmount() {
+        return Money.ofMinor(totalMinorUnits, currency);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.ordermanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns that identify the state of an order in a page: enough to fingerprint the page and to
+ * build its next cursor without loading orders or items.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderVersion {
+    private Long id;
+    private Long version;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,18 @@
+package com.example.ordermanagement.exception;
+
+/**
+ * Thrown for request parameters the client got wrong, such as a malformed cursor or page size.
+ * These end as a 400 and say nothing about the server, so like {@link OrderNotFoundException} the
+ * exception records no stack trace. Other {@link IllegalArgumentException}s are programming errors
+ * and are not translated into a 400.
+ */
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        this(message, null);
+    }
+
+    public BadRequestException(String message, Throwable cause) {
+        super(message, cause, false, false);
+    }
+}
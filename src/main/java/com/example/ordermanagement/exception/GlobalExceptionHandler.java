@@ -1,47 +1,93 @@
 package com.example.ordermanagement.exception;
 
+import com.example.ordermanagement.dto.ApiError;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
-
 @RestControllerAdvice
-public class GlobalExceptionHandler {
+public class GlobalExceptionHandler implements MeterBinder {
 
-    @ExceptionHandler(OrderNotFoundException.class)
-    public ResponseEntity<Map<String, Object>> handleOrderNotFoundException(OrderNotFoundException ex) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("message", ex.getMessage());
-        body.put("status", HttpStatus.NOT_FOUND.value());
-        body.put("error", "Not Found");
+    private Counter notFoundCounter;
+    private Counter illegalStateCounter;
+    private Counter badRequestCounter;
+    private Counter intakeRejectedCounter;
+    private Counter concurrencyFailureCounter;
+    private Counter unexpectedCounter;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        notFoundCounter = errorCounter(registry, OrderNotFoundException.class, HttpStatus.NOT_FOUND);
+        illegalStateCounter = errorCounter(registry, IllegalStateException.class, HttpStatus.BAD_REQUEST);
+        badRequestCounter = errorCounter(registry, BadRequestException.class, HttpStatus.BAD_REQUEST);
+        intakeRejectedCounter = errorCounter(registry, IntakeRejectedException.class, HttpStatus.TOO_MANY_REQUESTS);
+        concurrencyFailureCounter = errorCounter(registry, ConcurrencyFailureException.class, HttpStatus.CONFLICT);
+        unexpectedCounter = errorCounter(registry, Exception.class, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    private static Counter errorCounter(MeterRegistry registry, Class<? extends Exception> type, HttpStatus status) {
+        return Counter.builder("orders.errors")
+                .description("Exceptions translated into error responses")
+                .tag("exception", type.getSimpleName())
+                .tag("status", String.valueOf(status.value()))
+                .register(registry);
+    }
+
+    // Counters are absent until the handler is bound to a registry, e.g. in plain unit tests
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
 
+    @ExceptionHandler(OrderNotFoundException.class)
+    public ResponseEntity<ApiError> handleOrderNotFoundException(OrderNotFoundException ex) {
+        increment(notFoundCounter);
+        ApiError body = ApiError.of(HttpStatus.NOT_FOUND, ex.getMessage());
         return new ResponseEntity<>(body, HttpStatus.NOT_FOUND);
     }
 
     @ExceptionHandler(IllegalStateException.class)
-    public ResponseEntity<Map<String, Object>> handleIllegalStateException(IllegalStateException ex) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("message", ex.getMessage());
-        body.put("status", HttpStatus.BAD_REQUEST.value());
-        body.put("error", "Bad Request");
+    public ResponseEntity<ApiError> handleIllegalStateException(IllegalStateException ex) {
+        increment(illegalStateCounter);
+        ApiError body = ApiError.of(HttpStatus.BAD_REQUEST, ex.getMessage());
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
 
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ApiError> handleBadRequestException(BadRequestException ex) {
+        increment(badRequestCounter);
+        ApiError body = ApiError.of(HttpStatus.BAD_REQUEST, ex.getMessage());
         return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
     }
 
-    @ExceptionHandler(Exception.class)
-    public ResponseEntity<Map<String, Object>> handleGenericException(Exception ex) {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("message", "An unexpected error occurred");
-        body.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
-        body.put("error", "Internal Server Error");
+    @ExceptionHandler(IntakeRejectedException.class)
+    public ResponseEntity<ApiError> handleIntakeRejectedException(IntakeRejectedException ex) {
+        increment(intakeRejectedCounter);
+        ApiError body = ApiError.of(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(body);
+    }
+
+    // Raised once a status transition has used up its retries against concurrent writers
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<ApiError> handleConcurrencyFailureException(ConcurrencyFailureException ex) {
+        increment(concurrencyFailureCounter);
+        ApiError body = ApiError.of(HttpStatus.CONFLICT, "The order was modified concurrently, please retry");
+        return new ResponseEntity<>(body, HttpStatus.CONFLICT);
+    }
 
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ApiError> handleGenericException(Exception ex) {
+        increment(unexpectedCounter);
+        ApiError body = ApiError.of(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred");
         return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.example.ordermanagement.exception;
+
+public class IntakeRejectedException extends RuntimeException {
+
+    public IntakeRejectedException(String message) {
+        super(message);
+    }
+}
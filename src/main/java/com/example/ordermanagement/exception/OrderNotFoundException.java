@@ -1,16 +1,35 @@
 package com.example.ordermanagement.exception;
 
+/**
+ * Thrown for an order or intake that does not exist. Clients probing for orders make this an
+ * expected, frequent outcome that always ends as a 404, so the exception records no stack trace
+ * and no suppressed exceptions: filling in a trace through the servlet, security and Spring MVC
+ * frames would cost more than the lookup itself. For the same reason a miss by id keeps the id and
+ * only formats the message when it is read.
+ */
 public class OrderNotFoundException extends RuntimeException {
-    
+
+    private final boolean byId;
+    private final Long orderId;
+
     public OrderNotFoundException(String message) {
-        super(message);
+        this(message, null);
     }
 
     public OrderNotFoundException(Long orderId) {
-        super("Order not found with id: " + orderId);
+        super(null, null, false, false);
+        this.byId = true;
+        this.orderId = orderId;
     }
 
     public OrderNotFoundException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false, false);
+        this.byId = false;
+        this.orderId = null;
+    }
+
+    @Override
+    public String getMessage() {
+        return byId ? "Order not found with id: " + orderId : super.getMessage();
     }
-} 
\ No newline at end of file
+}
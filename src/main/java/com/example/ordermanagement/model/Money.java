@@ -0,0 +1,134 @@
+package com.example.ordermanagement.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Objects;
+
+/**
+ * An amount of money as a whole number of minor units (cents for USD) in one currency.
+ *
+ * <p>Persisted as a BIGINT plus an ISO 4217 code, so sums are exact and computed with long arithmetic.
+ * In JSON it is {@code {"amount": 12.34, "currency": "USD"}}; a bare number is also accepted on
+ * input and read in the {@linkplain #DEFAULT_CURRENCY default currency}.
+ */
+@JsonPropertyOrder({"amount", "currency"})
+@JsonDeserialize(using = Money.Deserializer.class)
+public final class Money {
+
+    public static final Currency DEFAULT_CURRENCY = Currency.getInstance("USD");
+
+    private final long minorUnits;
+    private final Currency currency;
+
+    private Money(long minorUnits, Currency currency) {
+        this.minorUnits = minorUnits;
+        this.currency = Objects.requireNonNull(currency, "currency");
+    }
+
+    public static Money ofMinor(long minorUnits, Currency currency) {
+        return new Money(minorUnits, currency);
+    }
+
+    public static Money of(BigDecimal amount, Currency currency) {
+        Objects.requireNonNull(amount, "amount");
+        try {
+            return new Money(amount.setScale(currency.getDefaultFractionDigits(), RoundingMode.UNNECESSARY)
+                    .unscaledValue().longValueExact(), currency);
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("Amount " + amount.toPlainString() + " cannot be represented in "
+                    + currency.getCurrencyCode() + " minor units", ex);
+        }
+    }
+
+    public static Money of(String amount) {
+        return of(new BigDecimal(amount), DEFAULT_CURRENCY);
+    }
+
+    public static Money zero(Currency currency) {
+        return new Money(0, currency);
+    }
+
+    @JsonIgnore
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public BigDecimal getAmount() {
+        return BigDecimal.valueOf(minorUnits, currency.getDefaultFractionDigits());
+    }
+
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money times(int factor) {
+        return new Money(Math.multiplyExact(minorUnits, factor), currency);
+    }
+
+    @JsonIgnore
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency.getCurrencyCode()
+                    + " and " + other.currency.getCurrencyCode());
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof Money other && minorUnits == other.minorUnits && currency.equals(other.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(minorUnits) + currency.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return currency.getCurrencyCode() + " " + getAmount().toPlainString();
+    }
+
+    static class Deserializer extends JsonDeserializer<Money> {
+
+        @Override
+        public Money deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            BigDecimal amount;
+            String currency = null;
+            if (parser.currentToken().isNumeric()) {
+                amount = parser.getDecimalValue();
+            } else {
+                JsonNode node = parser.readValueAsTree();
+                JsonNode amountNode = node.get("amount");
+                if (amountNode == null || !amountNode.isNumber()) {
+                    return (Money) context.handleUnexpectedToken(Money.class, parser);
+                }
+                amount = amountNode.decimalValue();
+                currency = node.hasNonNull("currency") ? node.get("currency").asText() : null;
+            }
+            try {
+                return of(amount, currency != null ? Currency.getInstance(currency) : DEFAULT_CURRENCY);
+            } catch (IllegalArgumentException ex) {
+                return (Money) context.handleWeirdNumberValue(Money.class, amount, ex.getMessage());
+            }
+        }
+    }
+}
@@ -1,20 +1,33 @@
 package com.example.ordermanagement.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Currency;
 import java.util.List;
 
 @Entity
 @Data
 @NoArgsConstructor
-@Table(name = "cust_order")
+@Table(name = "cust_order", indexes = {
+        @Index(name = "idx_cust_order_created_at_id", columnList = "createdAt, id"),
+        @Index(name = "idx_cust_order_status_created_at_id", columnList = "status, createdAt, id"),
+        @Index(name = "idx_cust_order_status_id", columnList = "status, id"),
+        @Index(name = "idx_cust_order_customer_email", columnList = "customerEmail")
+})
 public class Order {
+    // Pooled sequence: one round trip reserves 50 ids, so inserts can be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cust_order_seq")
+    @SequenceGenerator(name = "cust_order_seq", sequenceName = "cust_order_seq", allocationSize = 50)
     private Long id;
 
     private String customerName;
@@ -23,16 +36,36 @@ public class Order {
     @Enumerated(EnumType.STRING)
     private OrderStatus status = OrderStatus.PENDING;
 
+    // Incremented by every write, including the conditional status UPDATEs that bypass the entity
+    @Version
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    // Stored so it can be read, sorted and filtered on without loading items; maintained by
+    // addItem/removeItem/setItems and recomputed from the items on insert. All items share the
+    // order's currency, so the total is a plain sum of minor units.
+    @Column(nullable = false)
+    @Setter(AccessLevel.NONE)
+    @JsonIgnore
+    private long totalMinorUnits;
+
+    @Column(nullable = false, length = 3)
+    @Setter(AccessLevel.NONE)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Currency currency = Money.DEFAULT_CURRENCY;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> items = new ArrayList<>();
 
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
-        updatedAt = LocalDateTime.now();
+        // Truncated to the column precision so the in-memory value matches what keyset cursors read back
+        createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        updatedAt = createdAt;
+        recalculateTotalAmount();
     }
 
     @PreUpdate
@@ -40,19 +73,60 @@ public class Order {
         updatedAt = LocalDateTime.now();
     }
 
+    public void setItems(List<OrderItem> items) {
+        this.items = items;
+        recalculateTotalAmount();
+    }
+
     public void addItem(OrderItem item) {
+        long subtotal = item.getSubtotalMinorUnits();
+        Currency itemCurrency = currencyOf(item);
+        if (items.isEmpty() && itemCurrency != null) {
+            currency = itemCurrency;
+        } else {
+            requireOrderCurrency(itemCurrency);
+        }
         items.add(item);
         item.setOrder(this);
+        totalMinorUnits = Math.addExact(totalMinorUnits, subtotal);
     }
 
     public void removeItem(OrderItem item) {
-        items.remove(item);
+        if (items.remove(item)) {
+            totalMinorUnits -= item.getSubtotalMinorUnits();
+        }
         item.setOrder(null);
     }
 
-    public double getTotalAmount() {
-        return items.stream()
-                .mapToDouble(item -> item.getPrice() * item.getQuantity())
-                .sum();
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public Money getTotalAmount() {
+        return Money.ofMinor(totalMinorUnits, currency);
+    }
+
+    private void recalculateTotalAmount() {
+        long total = 0;
+        currency = Money.DEFAULT_CURRENCY;
+        if (items != null && !items.isEmpty()) {
+            Currency first = currencyOf(items.get(0));
+            if (first != null) {
+                currency = first;
+            }
+            for (OrderItem item : items) {
+                requireOrderCurrency(currencyOf(item));
+                total = Math.addExact(total, item.getSubtotalMinorUnits());
+            }
+        }
+        totalMinorUnits = total;
+    }
+
+    private void requireOrderCurrency(Currency itemCurrency) {
+        if (itemCurrency != null && !itemCurrency.equals(currency)) {
+            throw new IllegalArgumentException("Item currency " + itemCurrency.getCurrencyCode()
+                    + " does not match order currency " + currency.getCurrencyCode());
+        }
+    }
+
+    private static Currency currencyOf(OrderItem item) {
+        return item.getPriceCurrency();
     }
 } 
\ No newline at end of file
@@ -2,33 +2,71 @@ package com.example.ordermanagement.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Currency;
 
 @Entity
 @Data
 @NoArgsConstructor
+@Table(indexes = @Index(name = "idx_order_item_order_id", columnList = "order_id"))
 public class OrderItem {
+    // Not IDENTITY: Hibernate cannot batch INSERTs whose ids are generated by the insert itself
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_seq")
+    @SequenceGenerator(name = "order_item_seq", sequenceName = "order_item_seq", allocationSize = 50)
     private Long id;
 
     private String productName;
-    private Integer quantity;
-    private Double  price;
+    private int quantity;
+
+    // The price is kept as primitive columns rather than an embedded Money, so a loaded item carries no
+    // extra object per price; a missing price has no currency
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private long priceMinorUnits;
+
+    @Column(length = 3)
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Currency priceCurrency;
 
     @ManyToOne
     @JoinColumn(nullable=false, name = "order_id", referencedColumnName = "id")
     @JsonIgnore
     private Order order;
 
-    public OrderItem(String productName, Integer quantity, Double price) {
+    public OrderItem(String productName, int quantity, Money price) {
         this.productName = productName;
         this.quantity = quantity;
-        this.price = price;
+        setPrice(price);
+    }
+
+    public Money getPrice() {
+        return priceCurrency != null ? Money.ofMinor(priceMinorUnits, priceCurrency) : null;
+    }
+
+    public void setPrice(Money price) {
+        priceMinorUnits = price != null ? price.getMinorUnits() : 0L;
+        priceCurrency = price != null ? price.getCurrency() : null;
+    }
+
+    @JsonIgnore
+    public Currency getPriceCurrency() {
+        return priceCurrency;
+    }
+
+    // Primitive form used when summing order totals, so the totals path allocates nothing
+    @JsonIgnore
+    public long getSubtotalMinorUnits() {
+        return priceCurrency != null ? Math.multiplyExact(priceMinorUnits, quantity) : 0L;
     }
 
-    public Double getSubtotal() {
-        return quantity != null && price != null ? quantity * price : 0.0;
+    public Money getSubtotal() {
+        return priceCurrency != null ? Money.ofMinor(getSubtotalMinorUnits(), priceCurrency) : null;
     }
 } 
\ No newline at end of file
@@ -1,9 +1,40 @@
 package com.example.ordermanagement.model;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum OrderStatus {
     PENDING,
     PROCESSING,
     SHIPPED,
     DELIVERED,
-    CANCELLED
-} 
\ No newline at end of file
+    CANCELLED;
+
+    // Allowed transitions; DELIVERED and CANCELLED are final
+    private static final Map<OrderStatus, Set<OrderStatus>> TARGETS = new EnumMap<>(OrderStatus.class);
+    private static final Map<OrderStatus, Set<OrderStatus>> SOURCES = new EnumMap<>(OrderStatus.class);
+
+    static {
+        TARGETS.put(PENDING, EnumSet.of(PROCESSING, CANCELLED));
+        TARGETS.put(PROCESSING, EnumSet.of(SHIPPED));
+        TARGETS.put(SHIPPED, EnumSet.of(DELIVERED));
+        TARGETS.put(DELIVERED, EnumSet.noneOf(OrderStatus.class));
+        TARGETS.put(CANCELLED, EnumSet.noneOf(OrderStatus.class));
+        for (OrderStatus status : values()) {
+            SOURCES.put(status, EnumSet.noneOf(OrderStatus.class));
+        }
+        TARGETS.forEach((source, targets) -> targets.forEach(target -> SOURCES.get(target).add(source)));
+    }
+
+    public boolean canTransitionTo(OrderStatus target) {
+        return TARGETS.get(this).contains(target);
+    }
+
+    /** Statuses an order may be in for a transition to this status. */
+    public Set<OrderStatus> getSources() {
+        return Collections.unmodifiableSet(SOURCES.get(this));
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.ordermanagement.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A named lease on a piece of scheduled work, shared by every instance using the database. The
+ * instance in {@code owner} may run the work until {@code leaseUntil}; after that, any instance may
+ * take the lease over. Rows are only ever changed with conditional UPDATEs, see
+ * {@code SchedulerLeaseRepository}.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "scheduler_lease")
+public class SchedulerLease {
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(nullable = false, length = 100)
+    private String owner;
+
+    @Column(nullable = false)
+    private LocalDateTime leaseUntil;
+}
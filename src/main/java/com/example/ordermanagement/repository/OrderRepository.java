@@ -1,12 +1,199 @@
 package com.example.ordermanagement.repository;
 
+import com.example.ordermanagement.dto.OrderStatusCount;
+import com.example.ordermanagement.dto.OrderSummary;
+import com.example.ordermanagement.dto.OrderVersion;
 import com.example.ordermanagement.model.Order;
 import com.example.ordermanagement.model.OrderStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    List<Order> findByStatus(OrderStatus status);
-} 
\ No newline at end of file
+
+    String SUMMARY_SELECT = "select new com.example.ordermanagement.dto.OrderSummary(" +
+            "o.id, o.customerName, o.customerEmail, o.status, o.version, o.createdAt, o.updatedAt, o.totalMinorUnits, o.currency) " +
+            "from Order o ";
+
+    // Paths that serialize whole orders load items in the same query instead of one SELECT per order.
+
+    @EntityGraph(attributePaths = "items")
+    Optional<Order> findWithItemsById(Long id);
+
+    @EntityGraph(attributePaths = "items")
+    List<Order> findByIdIn(Collection<Long> ids, Sort sort);
+
+    // Keyset pagination over (createdAt, id). The redundant "createdAt >=" predicate gives the
+    // optimizer a range start on the (created_at, id) index, so no rows before the cursor are scanned.
+    // Only ids are paged; a LIMIT cannot be applied to a collection fetch join in SQL, so the page is
+    // hydrated afterwards through findByIdIn.
+
+    @Query("select o.id from Order o order by o.createdAt asc, o.id asc")
+    List<Long> findFirstPageIds(Pageable pageable);
+
+    @Query("select o.id from Order o " +
+            "where o.createdAt >= :createdAt and (o.createdAt > :createdAt or o.id > :id) " +
+            "order by o.createdAt asc, o.id asc")
+    List<Long> findPageIdsAfter(@Param("createdAt") LocalDateTime createdAt,
+                                @Param("id") Long id,
+                                Pageable pageable);
+
+    @Query("select o.id from Order o where o.status = :status order by o.createdAt asc, o.id asc")
+    List<Long> findFirstPageIdsByStatus(@Param("status") OrderStatus status, Pageable pageable);
+
+    @Query("select o.id from Order o " +
+            "where o.status = :status " +
+            "and o.createdAt >= :createdAt and (o.createdAt > :createdAt or o.id > :id) " +
+            "order by o.createdAt asc, o.id asc")
+    List<Long> findPageIdsByStatusAfter(@Param("status") OrderStatus status,
+                                        @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") Long id,
+                                        Pageable pageable);
+
+    // A customer's orders are found through idx_cust_order_customer_email and sorted there, so the
+    // sort covers one customer's orders rather than the table
+    @Query("select o.id from Order o where o.customerEmail = :customerEmail order by o.createdAt asc, o.id asc")
+    List<Long> findFirstPageIdsByCustomerEmail(@Param("customerEmail") String customerEmail, Pageable pageable);
+
+    @Query("select o.id from Order o " +
+            "where o.customerEmail = :customerEmail " +
+            "and o.createdAt >= :createdAt and (o.createdAt > :createdAt or o.id > :id) " +
+            "order by o.createdAt asc, o.id asc")
+    List<Long> findPageIdsByCustomerEmailAfter(@Param("customerEmail") String customerEmail,
+                                               @Param("createdAt") LocalDateTime createdAt,
+                                               @Param("id") Long id,
+                                               Pageable pageable);
+
+    // Summary pages use the same keyset predicates but select only header columns into DTOs: no items
+    // join, no managed entities and no dirty-checking snapshots, and the page is a single query.
+
+    @Query(SUMMARY_SELECT + "order by o.createdAt asc, o.id asc")
+    List<OrderSummary> findFirstSummaryPage(Pageable pageable);
+
+    @Query(SUMMARY_SELECT +
+            "where o.createdAt >= :createdAt and (o.createdAt > :createdAt or o.id > :id) " +
+            "order by o.createdAt asc, o.id asc")
+    List<OrderSummary> findSummaryPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") Long id,
+                                            Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "where o.status = :status order by o.createdAt asc, o.id asc")
+    List<OrderSummary> findFirstSummaryPageByStatus(@Param("status") OrderStatus status, Pageable pageable);
+
+    @Query(SUMMARY_SELECT +
+            "where o.status = :status " +
+            "and o.createdAt >= :createdAt and (o.createdAt > :createdAt or o.id > :id) " +
+            "order by o.createdAt asc, o.id asc")
+    List<OrderSummary> findSummaryPageByStatusAfter(@Param("status") OrderStatus status,
+                                                    @Param("createdAt") LocalDateTime createdAt,
+                                                    @Param("id") Long id,
+                                                    Pageable pageable);
+
+    // Seeds and reconciles the in-memory status counters; covered by the (status, created_at, id) index
+    @Query("select new com.example.ordermanagement.dto.OrderStatusCount(o.status, count(o)) " +
+            "from Order o group by o.status")
+    List<OrderStatusCount> countByStatus();
+
+    // Revalidation lookups for conditional GETs: primary-key reads of a few columns that never hydrate
+    // an order or its items
+
+    @Query("select o.version from Order o where o.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("select new com.example.ordermanagement.dto.OrderVersion(o.id, o.version, o.createdAt) " +
+            "from Order o where o.id in :ids order by o.createdAt asc, o.id asc")
+    List<OrderVersion> findVersionsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Forward-only cursors for exports; rows are fetched from the driver in fetch-size batches and
+    // loaded read-only so Hibernate keeps no dirty-checking snapshots for them. Items are fetched in
+    // the same result set; rows of one order stay adjacent because the ordering ends with the id.
+    // Both bounds are required and there is one query per filter combination: an optional
+    // "(:status is null or ...)" predicate hides the column from the optimizer and forces a full scan,
+    // while these are range scans on (created_at, id) and (status, created_at, id).
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @EntityGraph(attributePaths = "items")
+    @Query("select o from Order o " +
+            "where o.createdAt >= :from and o.createdAt < :to " +
+            "order by o.createdAt asc, o.id asc")
+    Stream<Order> streamByCreatedAtRange(@Param("from") LocalDateTime from,
+                                         @Param("to") LocalDateTime to);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @EntityGraph(attributePaths = "items")
+    @Query("select o from Order o " +
+            "where o.status = :status and o.createdAt >= :from and o.createdAt < :to " +
+            "order by o.createdAt asc, o.id asc")
+    Stream<Order> streamByStatusAndCreatedAtRange(@Param("status") OrderStatus status,
+                                                  @Param("from") LocalDateTime from,
+                                                  @Param("to") LocalDateTime to);
+
+    @Query("select min(o.id) from Order o where o.status = :status and o.createdAt <= :createdBefore")
+    Long findMinIdByStatusCreatedBefore(@Param("status") OrderStatus status,
+                                        @Param("createdBefore") LocalDateTime createdBefore);
+
+    @Query("select max(o.id) from Order o where o.status = :status and o.createdAt <= :createdBefore")
+    Long findMaxIdByStatusCreatedBefore(@Param("status") OrderStatus status,
+                                        @Param("createdBefore") LocalDateTime createdBefore);
+
+    // Keyset scan of one id-range shard in id order, read from idx_cust_order_status_id: each chunk
+    // starts after the last id of the previous one, so rows already moved are not visited again.
+    // Ordering by the constant status too lets H2 read the index in order instead of sorting.
+    @Query("select o.id from Order o " +
+            "where o.status = :status and o.id > :afterId and o.id < :beforeId " +
+            "order by o.status asc, o.id asc")
+    List<Long> findIdsInRangeByStatus(@Param("status") OrderStatus status,
+                                      @Param("afterId") long afterId,
+                                      @Param("beforeId") long beforeId,
+                                      Pageable pageable);
+
+    // Bulk statements bypass the persistence context, so it is flushed before and cleared after
+    // to keep already-loaded entities from shadowing the new status.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Order o set o.status = :to, o.updatedAt = :updatedAt, o.version = o.version + 1 " +
+            "where o.id in :ids and o.status = :from")
+    int updateStatusByIds(@Param("ids") List<Long> ids,
+                          @Param("from") OrderStatus from,
+                          @Param("to") OrderStatus to,
+                          @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query("select o.id from Order o where o.id in :ids and o.status = :status and o.updatedAt = :updatedAt")
+    List<Long> findIdsMovedAt(@Param("ids") List<Long> ids,
+                              @Param("status") OrderStatus status,
+                              @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Compare-and-set on the status: matches only while the order is still in one of the given
+    // statuses, so two concurrent transitions cannot both apply and no prior SELECT is needed
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Order o set o.status = :to, o.updatedAt = :updatedAt, o.version = o.version + 1 " +
+            "where o.id = :id and o.status in :from")
+    int transitionStatus(@Param("id") Long id,
+                         @Param("from") Collection<OrderStatus> from,
+                         @Param("to") OrderStatus to,
+                         @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query("select o.status from Order o where o.id = :id")
+    Optional<OrderStatus> findStatusById(@Param("id") Long id);
+}
@@ -0,0 +1,59 @@
+package com.example.ordermanagement.repository;
+
+import com.example.ordermanagement.model.SchedulerLease;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Lease changes are single conditional statements, so two instances racing for the same lease are
+ * decided by the database's row locks, never by a read followed by a write.
+ */
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    // Inserts nothing if the lease exists. Two instances can still both pass the NOT EXISTS check,
+    // so callers hold the registry row lock around it.
+    @Modifying
+    @Query(value = "insert into scheduler_lease (name, owner, lease_until) " +
+            "select :name, :owner, :leaseUntil from dual " +
+            "where not exists (select 1 from scheduler_lease where name = :name)",
+            nativeQuery = true)
+    int insertLeaseIfAbsent(@Param("name") String name,
+                            @Param("owner") String owner,
+                            @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from SchedulerLease l where l.name = :name")
+    Optional<SchedulerLease> lockByName(@Param("name") String name);
+
+    // Takes the lease if it has expired, or extends it if this owner already holds it
+    @Modifying
+    @Query("update SchedulerLease l set l.owner = :owner, l.leaseUntil = :leaseUntil " +
+            "where l.name = :name and (l.owner = :owner or l.leaseUntil <= :now)")
+    int acquireLease(@Param("name") String name,
+                     @Param("owner") String owner,
+                     @Param("now") LocalDateTime now,
+                     @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // Changes the expiry only while this owner still holds the lease
+    @Modifying
+    @Query("update SchedulerLease l set l.leaseUntil = :leaseUntil " +
+            "where l.name = :name and l.owner = :owner and l.leaseUntil > :now")
+    int renewLease(@Param("name") String name,
+                   @Param("owner") String owner,
+                   @Param("now") LocalDateTime now,
+                   @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // Expired leases have no holder, and an instance that wants one again simply recreates it
+    @Modifying
+    @Query("delete from SchedulerLease l where l.name like concat(:prefix, '%') and l.leaseUntil <= :now")
+    int deleteExpiredLeases(@Param("prefix") String prefix, @Param("now") LocalDateTime now);
+}
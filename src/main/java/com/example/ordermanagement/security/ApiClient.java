@@ -0,0 +1,19 @@
+package com.example.ordermanagement.security;
+
+/**
+ * A client of the API, identified by one or more keys. Keys of the same client share its rate
+ * limit, so a client rotating keys does not get twice the rate.
+ *
+ * @param rateLimit null when the client is not rate limited
+ */
+public record ApiClient(String id, TokenBucket rateLimit, ApiKeyAuthentication authentication) {
+
+    public ApiClient(String id, TokenBucket rateLimit) {
+        this(id, rateLimit, new ApiKeyAuthentication(id));
+    }
+
+    /** Takes a request from the client's rate limit; returns 0, or the nanoseconds to wait. */
+    public long tryAcquire() {
+        return rateLimit == null ? 0 : rateLimit.tryAcquire();
+    }
+}
@@ -4,36 +4,59 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 public class ApiKeyAuthFilter extends OncePerRequestFilter {
 
-    private final String apiKey;
+    private final ApiKeyRegistry apiKeyRegistry;
+    private final RequestMatcher protectedPaths;
     private static final String API_KEY_HEADER = "X-API-Key";
 
-    public ApiKeyAuthFilter(String apiKey) {
-        this.apiKey = apiKey;
+    public ApiKeyAuthFilter(ApiKeyRegistry apiKeyRegistry, RequestMatcher protectedPaths) {
+        this.apiKeyRegistry = apiKeyRegistry;
+        this.protectedPaths = protectedPaths;
+    }
+
+    // Paths that SecurityConfig permits without authentication need neither a key nor a rate limit
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !protectedPaths.matches(request);
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
-        
-        String requestApiKey = request.getHeader(API_KEY_HEADER);
-        
-        if (apiKey.equals(requestApiKey)) {
-            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                "API_USER", null, null);
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-        } else {
+
+        ApiClient client = apiKeyRegistry.authenticate(request.getHeader(API_KEY_HEADER));
+
+        if (client == null) {
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.getWriter().write("Invalid API Key");
             return;
         }
-        
+
+        long waitNanos = client.tryAcquire();
+        if (waitNanos > 0) {
+            apiKeyRegistry.recordRateLimited(client);
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds(waitNanos)));
+            response.getWriter().write("Rate limit exceeded");
+            return;
+        }
+
+        // The client's authentication is immutable and shared, so nothing is allocated per request
+        SecurityContextHolder.getContext().setAuthentication(client.authentication());
         filterChain.doFilter(request, response);
     }
-} 
\ No newline at end of file
+
+    // Retry-After takes whole seconds; round up so a client that honours it finds a token
+    static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.ordermanagement.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Authentication of an API client. Immutable, so one instance per client is built when the keys are
+ * loaded and shared by all of its requests instead of creating a token per request.
+ */
+public final class ApiKeyAuthentication implements Authentication {
+
+    private final String clientId;
+
+    public ApiKeyAuthentication(String clientId) {
+        this.clientId = clientId;
+    }
+
+    @Override
+    public String getName() {
+        return clientId;
+    }
+
+    @Override
+    public Object getPrincipal() {
+        return clientId;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of();
+    }
+
+    @Override
+    public Object getCredentials() {
+        // The key is never kept
+        return null;
+    }
+
+    @Override
+    public Object getDetails() {
+        return null;
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return true;
+    }
+
+    @Override
+    public void setAuthenticated(boolean authenticated) {
+        if (!authenticated) {
+            throw new IllegalArgumentException("An API key authentication cannot be revoked, remove the key instead");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ApiKeyAuthentication[" + clientId + "]";
+    }
+}
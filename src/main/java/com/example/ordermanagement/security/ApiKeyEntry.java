@@ -0,0 +1,19 @@
+package com.example.ordermanagement.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/** One client in the {@code api.keys.file} JSON array. Keys are stored as SHA-256 hex digests, never in plain text. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApiKeyEntry {
+    private String client;
+    private List<String> keys;
+    // Null falls back to api.keys.default-requests-per-second / api.keys.default-burst
+    private Double requestsPerSecond;
+    private Integer burst;
+}
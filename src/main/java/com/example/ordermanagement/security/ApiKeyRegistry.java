@@ -0,0 +1,207 @@
+package com.example.ordermanagement.security;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The API keys accepted by {@link ApiKeyAuthFilter} and the client each one belongs to.
+ *
+ * <p>Keys are looked up by their SHA-256 digest in a hash map. Lookup cost does not depend on the
+ * number of keys. Because the presented key is hashed before any comparison, response timing
+ * reveals nothing about the stored keys. The file only holds digests, so reading it does not reveal
+ * a usable key. Every client gets its {@link ApiClient} once, with a prebuilt authentication and a
+ * {@link TokenBucket} rate limit.
+ *
+ * <p>Clients come from {@code api.key} (client {@value #DEFAULT_CLIENT}) and from the JSON file in
+ * {@code api.keys.file}. The file is checked every {@code api.keys.reload-interval} and reloaded
+ * when it changes. A reload swaps in a new immutable map, so requests never see a half-loaded set.
+ * Clients whose limits are unchanged keep their bucket. A file that fails to load leaves the
+ * current keys in place.
+ */
+@Slf4j
+@Component
+public class ApiKeyRegistry implements MeterBinder {
+
+    public static final String DEFAULT_CLIENT = "default";
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final String defaultKey;
+    private final Path keysFile;
+    private final double defaultRequestsPerSecond;
+    private final int defaultBurst;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private volatile Map<String, ApiClient> clientsByKeyHash = Map.of();
+    private FileTime loadedFileTime;
+
+    private MeterRegistry meterRegistry;
+    private Counter reloadFailureCounter;
+
+    public ApiKeyRegistry(@Value("${api.key:}") String defaultKey,
+                          @Value("${api.keys.file:}") String keysFile,
+                          @Value("${api.keys.default-requests-per-second:200}") double defaultRequestsPerSecond,
+                          @Value("${api.keys.default-burst:400}") int defaultBurst) {
+        this.defaultKey = defaultKey;
+        this.keysFile = keysFile.isBlank() ? null : Path.of(keysFile);
+        this.defaultRequestsPerSecond = defaultRequestsPerSecond;
+        this.defaultBurst = defaultBurst;
+        reload();
+    }
+
+    /** The client owning {@code key}, or null if the key is missing or unknown. */
+    public ApiClient authenticate(String key) {
+        if (key == null || key.isEmpty()) {
+            return null;
+        }
+        return clientsByKeyHash.get(hash(key));
+    }
+
+    public int size() {
+        return clientsByKeyHash.size();
+    }
+
+    @Scheduled(fixedDelayString = "${api.keys.reload-interval:PT30S}",
+            initialDelayString = "${api.keys.reload-interval:PT30S}")
+    public void reloadIfChanged() {
+        if (keysFile == null) {
+            return;
+        }
+        try {
+            if (!Files.exists(keysFile)) {
+                // Deleting the file revokes its keys rather than leaving them valid until a restart
+                if (loadedFileTime != null) {
+                    log.warn("API keys file {} was deleted, revoking its keys", keysFile);
+                    load(false);
+                }
+                return;
+            }
+            if (!Files.getLastModifiedTime(keysFile).equals(loadedFileTime)) {
+                reload();
+            }
+        } catch (RuntimeException | IOException ex) {
+            log.error("Failed to reload API keys from {}, keeping the {} current keys", keysFile, size(), ex);
+            if (reloadFailureCounter != null) {
+                reloadFailureCounter.increment();
+            }
+        }
+    }
+
+    /** Reads {@code api.key} and the keys file again and replaces the current keys. */
+    public void reload() {
+        load(true);
+    }
+
+    private synchronized void load(boolean readKeysFile) {
+        Map<String, ApiClient> previousClients = new HashMap<>();
+        clientsByKeyHash.values().forEach(client -> previousClients.put(client.id(), client));
+
+        List<ApiKeyEntry> entries = new ArrayList<>();
+        if (!defaultKey.isBlank()) {
+            entries.add(new ApiKeyEntry(DEFAULT_CLIENT, List.of(hash(defaultKey)), null, null));
+        }
+        FileTime fileTime = null;
+        if (readKeysFile && keysFile != null) {
+            try {
+                fileTime = Files.getLastModifiedTime(keysFile);
+                entries.addAll(objectMapper.readValue(keysFile.toFile(), new TypeReference<List<ApiKeyEntry>>() { }));
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Cannot read API keys from " + keysFile, ex);
+            }
+        }
+
+        Map<String, ApiClient> loaded = new HashMap<>();
+        Map<String, ApiClient> clients = new HashMap<>();
+        for (ApiKeyEntry entry : entries) {
+            String id = entry.getClient();
+            if (id == null || id.isBlank() || entry.getKeys() == null || entry.getKeys().isEmpty()) {
+                throw new IllegalArgumentException("Every API client needs a name and at least one key");
+            }
+            if (clients.containsKey(id)) {
+                throw new IllegalArgumentException("API client " + id + " is defined twice");
+            }
+            ApiClient client = client(entry, previousClients.get(id));
+            clients.put(id, client);
+            for (String key : entry.getKeys()) {
+                String digest = key.toLowerCase(Locale.ROOT);
+                if (digest.length() != 64 || !digest.chars().allMatch(HexFormat::isHexDigit)) {
+                    throw new IllegalArgumentException("Key of API client " + id + " is not a SHA-256 hex digest");
+                }
+                if (loaded.putIfAbsent(digest, client) != null) {
+                    throw new IllegalArgumentException("A key of API client " + id + " belongs to another client");
+                }
+            }
+        }
+        clientsByKeyHash = Map.copyOf(loaded);
+        loadedFileTime = fileTime;
+        log.info("Loaded {} API keys for {} clients", loaded.size(), clients.size());
+    }
+
+    private ApiClient client(ApiKeyEntry entry, ApiClient previous) {
+        double rate = entry.getRequestsPerSecond() != null ? entry.getRequestsPerSecond() : defaultRequestsPerSecond;
+        int burst = entry.getBurst() != null ? entry.getBurst() : defaultBurst;
+        if (rate <= 0) {
+            return previous != null && previous.rateLimit() == null ? previous : new ApiClient(entry.getClient(), null);
+        }
+        if (previous != null && previous.rateLimit() != null
+                && previous.rateLimit().getPermitsPerSecond() == rate && previous.rateLimit().getBurst() == burst) {
+            // Same limits: keep the bucket, so a reload does not hand every client a fresh burst
+            return previous;
+        }
+        return new ApiClient(entry.getClient(), new TokenBucket(rate, burst));
+    }
+
+    void recordRateLimited(ApiClient client) {
+        if (meterRegistry != null) {
+            Counter.builder("api.requests.rate.limited")
+                    .description("Requests rejected with 429 because the client exceeded its rate limit")
+                    .tag("client", client.id())
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+
+    /** SHA-256 of the key as lowercase hex, the form keys are stored in. */
+    public static String hash(String key) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HEX.formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        meterRegistry = registry;
+        Gauge.builder("api.keys", this, ApiKeyRegistry::size)
+                .description("API keys currently accepted")
+                .register(registry);
+        reloadFailureCounter = Counter.builder("api.keys.reload.failures")
+                .description("Reloads of the API keys file that failed and kept the previous keys")
+                .register(registry);
+    }
+}
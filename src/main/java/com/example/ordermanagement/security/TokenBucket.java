@@ -0,0 +1,68 @@
+package com.example.ordermanagement.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket holding up to {@code burst} tokens and refilling {@code permitsPerSecond}
+ * of them per second.
+ *
+ * <p>Implemented as the generic cell rate algorithm. Instead of a token count plus a refill
+ * timestamp, a single {@link AtomicLong} holds the time at which the bucket is full again. Taking
+ * a token moves that time one refill interval forward, and it is allowed while the time stays
+ * within {@code burst} intervals of now. A request costs one compare-and-set, with no lock and no
+ * refill thread.
+ */
+public final class TokenBucket {
+
+    private final double permitsPerSecond;
+    private final int burst;
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final LongSupplier clock;
+    private final AtomicLong fullAt;
+
+    public TokenBucket(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucket(double permitsPerSecond, int burst, LongSupplier clock) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate limit needs a positive rate and a burst of at least 1");
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / permitsPerSecond));
+        this.capacityNanos = intervalNanos * burst;
+        this.clock = clock;
+        this.fullAt = new AtomicLong(clock.getAsLong());
+    }
+
+    /**
+     * Takes a token and returns 0. If the bucket is empty, takes nothing and returns the
+     * nanoseconds until the next token is available.
+     */
+    public long tryAcquire() {
+        long now = clock.getAsLong();
+        while (true) {
+            long current = fullAt.get();
+            // nanoTime values are only comparable by difference
+            long next = (current - now > 0 ? current : now) + intervalNanos;
+            long ahead = next - now;
+            if (ahead > capacityNanos) {
+                return ahead - capacityNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+}
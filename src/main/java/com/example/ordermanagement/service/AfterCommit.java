@@ -0,0 +1,27 @@
+package com.example.ordermanagement.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers side effects that must only be seen for committed writes. Outside a transaction the
+ * write has already committed, so the action runs immediately.
+ */
+final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    static void execute(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
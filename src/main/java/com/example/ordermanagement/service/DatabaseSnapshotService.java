@@ -0,0 +1,164 @@
+package com.example.ordermanagement.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.h2.mvstore.MVStoreTool;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Compacted snapshots of the file-backed H2 database of the {@code durable} profile.
+ *
+ * <p>A snapshot is taken online with H2's {@code BACKUP}, which copies the store consistently while
+ * writes continue. The copy is then compacted with {@link MVStoreTool}, so it holds only live pages,
+ * and it replaces the previous snapshot by an atomic rename. A reader therefore never sees a
+ * half-written snapshot. When {@code orders.snapshot.enabled} is set, a snapshot is written every
+ * {@code orders.snapshot.interval} and once more on shutdown. On boot, {@code DatabaseSnapshotConfig}
+ * restores it if the database file is missing, which is a file copy instead of a replay.
+ */
+@Slf4j
+@Service
+public class DatabaseSnapshotService implements MeterBinder {
+
+    static final String DATABASE_SUFFIX = ".mv.db";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${orders.snapshot.enabled:false}")
+    private boolean enabled;
+
+    @Value("${orders.snapshot.file:data/orders-snapshot.mv.db}")
+    private Path snapshotFile;
+
+    private Timer snapshotTimer;
+    private Counter failureCounter;
+
+    @Scheduled(fixedDelayString = "${orders.snapshot.interval:PT1H}",
+            initialDelayString = "${orders.snapshot.interval:PT1H}")
+    public void scheduledSnapshot() {
+        if (enabled) {
+            createSnapshotQuietly();
+        }
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        // Lifecycle beans such as the intake writer have stopped by now, so nothing is left in flight
+        if (enabled) {
+            createSnapshotQuietly();
+        }
+    }
+
+    /** Writes a compacted snapshot of the database to {@code orders.snapshot.file} and returns its path. */
+    public synchronized Path createSnapshot() {
+        long start = System.nanoTime();
+        Path target = snapshotFile.toAbsolutePath();
+        Path backup = target.resolveSibling(target.getFileName() + ".zip.tmp");
+        Path extracted = target.resolveSibling(target.getFileName() + ".backup.tmp");
+        Path compacted = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(target.getParent());
+            deleteIfExists(backup, extracted, compacted);
+            jdbcTemplate.execute("BACKUP TO '" + backup.toString().replace("'", "''") + "'");
+            extractDatabase(backup, extracted);
+            MVStoreTool.compact(extracted.toString(), compacted.toString(), false);
+            Files.move(compacted, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot write database snapshot " + target, ex);
+        } finally {
+            deleteQuietly(backup, extracted, compacted);
+        }
+        long elapsed = System.nanoTime() - start;
+        if (snapshotTimer != null) {
+            snapshotTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        }
+        log.info("Wrote database snapshot {} in {} ms", target, TimeUnit.NANOSECONDS.toMillis(elapsed));
+        return target;
+    }
+
+    /**
+     * Copies {@code snapshot} to {@code databaseFile} if the database does not exist yet. Must run
+     * before H2 opens the database, otherwise H2 creates an empty one first.
+     *
+     * @return whether the snapshot was restored
+     */
+    public static boolean restoreIfMissing(Path snapshot, Path databaseFile) throws IOException {
+        if (Files.exists(databaseFile) || !Files.isRegularFile(snapshot)) {
+            return false;
+        }
+        Path target = databaseFile.toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        Path partial = target.resolveSibling(target.getFileName() + ".restore.tmp");
+        // Copied under a temporary name first, so a crash mid-copy leaves no truncated database behind
+        Files.copy(snapshot, partial, StandardCopyOption.REPLACE_EXISTING);
+        Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+        return true;
+    }
+
+    private void createSnapshotQuietly() {
+        try {
+            createSnapshot();
+        } catch (RuntimeException ex) {
+            log.error("Failed to write database snapshot {}", snapshotFile, ex);
+            if (failureCounter != null) {
+                failureCounter.increment();
+            }
+        }
+    }
+
+    // BACKUP writes a zip holding the single <name>.mv.db store file
+    private static void extractDatabase(Path backup, Path target) throws IOException {
+        try (InputStream in = Files.newInputStream(backup); ZipInputStream zip = new ZipInputStream(in)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (entry.getName().endsWith(DATABASE_SUFFIX)) {
+                    Files.copy(zip, target, StandardCopyOption.REPLACE_EXISTING);
+                    return;
+                }
+            }
+        }
+        throw new IOException("Backup " + backup + " contains no " + DATABASE_SUFFIX + " file");
+    }
+
+    private static void deleteIfExists(Path... files) throws IOException {
+        for (Path file : files) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void deleteQuietly(Path... files) {
+        try {
+            deleteIfExists(files);
+        } catch (IOException ex) {
+            log.warn("Could not remove temporary snapshot files", ex);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        snapshotTimer = Timer.builder("orders.snapshot")
+                .description("Time to write a compacted database snapshot")
+                .register(registry);
+        failureCounter = Counter.builder("orders.snapshot.failures")
+                .description("Scheduled or shutdown database snapshots that failed")
+                .register(registry);
+    }
+}
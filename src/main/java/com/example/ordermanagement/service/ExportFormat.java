@@ -0,0 +1,57 @@
+package com.example.ordermanagement.service;
+
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+
+/**
+ * Encodings of an order export. NDJSON writes one JSON object per line. Smile and CBOR write the
+ * same objects back to back as a sequence of binary documents, which Jackson reads back with
+ * {@code ObjectReader.readValues}.
+ */
+public enum ExportFormat {
+
+    NDJSON("application/x-ndjson"),
+    SMILE("application/x-jackson-smile"),
+    CBOR("application/cbor-seq");
+
+    private final String contentType;
+
+    ExportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * The first export format named in {@code accept}, in the client's order of preference, or
+     * NDJSON. {@code application/cbor} selects CBOR as well as the sequence type.
+     */
+    public static ExportFormat fromAccept(String accept) {
+        if (!StringUtils.hasText(accept)) {
+            return NDJSON;
+        }
+        List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+        MimeTypeUtils.sortBySpecificity(mediaTypes);
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.isWildcardType() || mediaType.isWildcardSubtype()) {
+                continue;
+            }
+            switch (mediaType.getSubtype()) {
+                case "x-ndjson", "json":
+                    return NDJSON;
+                case "x-jackson-smile":
+                    return SMILE;
+                case "cbor", "cbor-seq":
+                    return CBOR;
+                default:
+                    break;
+            }
+        }
+        return NDJSON;
+    }
+}
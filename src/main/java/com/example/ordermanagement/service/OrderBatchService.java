@@ -0,0 +1,191 @@
+package com.example.ordermanagement.service;
+
+import com.example.ordermanagement.dto.BatchOrderResponse;
+import com.example.ordermanagement.dto.BatchOrderResult;
+import com.example.ordermanagement.model.Order;
+import com.example.ordermanagement.model.OrderItem;
+import com.example.ordermanagement.repository.OrderRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Creates orders in bulk. Orders are read one at a time from a JSON array or NDJSON body and
+ * persisted in chunks, each chunk in its own transaction so Hibernate can batch the INSERTs.
+ * A failing chunk is retried order by order, so one bad order only fails itself.
+ */
+@Slf4j
+@Service
+public class OrderBatchService {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private OrderStatusCounters orderStatusCounters;
+
+    @Autowired
+    private OrderJournal orderJournal;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${orders.batch.chunk-size:100}")
+    private int chunkSize = 100;
+
+    public BatchOrderResponse createOrders(InputStream body) throws IOException {
+        List<BatchOrderResult> results = new ArrayList<>();
+        List<Order> chunk = new ArrayList<>(chunkSize);
+        int chunkStart = 0;
+        int index = 0;
+        BatchOrderResult parseFailure = null;
+
+        // readValues iterates the elements of a root-level array, or whitespace-separated root values for NDJSON
+        try (MappingIterator<Order> orders = objectMapper.readerFor(Order.class).readValues(body)) {
+            while (true) {
+                Order order;
+                try {
+                    if (!orders.hasNextValue()) {
+                        break;
+                    }
+                    order = orders.nextValue();
+                } catch (JsonProcessingException ex) {
+                    // The reader cannot resynchronize after malformed input, so the rest of the body is unread
+                    parseFailure = BatchOrderResult.failed(index, "Malformed order: " + ex.getOriginalMessage());
+                    break;
+                }
+                chunk.add(order);
+                index++;
+                if (chunk.size() == chunkSize) {
+                    persistChunk(chunk, chunkStart, results);
+                    chunk.clear();
+                    chunkStart = index;
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            persistChunk(chunk, chunkStart, results);
+        }
+        if (parseFailure != null) {
+            results.add(parseFailure);
+        }
+        return BatchOrderResponse.of(results);
+    }
+
+    // Also the group commit of the async intake writer; results are in input order
+    List<BatchOrderResult> persistChunk(List<Order> chunk) {
+        List<BatchOrderResult> results = new ArrayList<>(chunk.size());
+        persistChunk(chunk, 0, results);
+        return results;
+    }
+
+    private void persistChunk(List<Order> chunk, int chunkStart, List<BatchOrderResult> results) {
+        BatchOrderResult[] chunkResults = new BatchOrderResult[chunk.size()];
+        List<Integer> valid = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            String error = validate(chunk.get(i));
+            if (error == null) {
+                valid.add(i);
+            } else {
+                chunkResults[i] = BatchOrderResult.failed(chunkStart + i, error);
+            }
+        }
+
+        try {
+            List<Order> saved = newTransaction().execute(status -> saveAll(valid.stream().map(chunk::get).toList()));
+            for (int k = 0; k < valid.size(); k++) {
+                chunkResults[valid.get(k)] = BatchOrderResult.created(chunkStart + valid.get(k), saved.get(k).getId());
+            }
+        } catch (RuntimeException chunkFailure) {
+            log.warn("Batch chunk starting at {} failed, retrying orders individually", chunkStart, chunkFailure);
+            for (int i : valid) {
+                Order order = chunk.get(i);
+                resetForRetry(order);
+                try {
+                    List<Order> saved = newTransaction().execute(status -> saveAll(List.of(order)));
+                    chunkResults[i] = BatchOrderResult.created(chunkStart + i, saved.get(0).getId());
+                } catch (RuntimeException ex) {
+                    chunkResults[i] = BatchOrderResult.failed(chunkStart + i,
+                            NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+                }
+            }
+        }
+        results.addAll(Arrays.asList(chunkResults));
+    }
+
+    // Returns the entities save() returned, in order; their ids are the ones committed
+    private List<Order> saveAll(List<Order> orders) {
+        List<Order> saved = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            for (OrderItem item : order.getItems()) {
+                item.setOrder(order);
+            }
+            Order persisted = orderRepository.save(order);
+            orderStatusCounters.recordCreated(persisted.getStatus());
+            orderJournal.recordCreated(persisted);
+            saved.add(persisted);
+        }
+        // Flush inside the transaction so constraint violations surface here, then drop the
+        // persisted orders from the persistence context before the next chunk
+        entityManager.flush();
+        entityManager.clear();
+        return saved;
+    }
+
+    private TransactionTemplate newTransaction() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+
+    private static void resetForRetry(Order order) {
+        // Ids and the version assigned during the rolled-back attempt were never committed. A
+        // non-null version would make save() treat the order as existing and merge it into a copy.
+        order.setId(null);
+        order.setVersion(null);
+        order.getItems().forEach(item -> item.setId(null));
+    }
+
+    static String validate(Order order) {
+        if (order == null) {
+            return "Order must not be null";
+        }
+        if (order.getCustomerName() == null || order.getCustomerName().isBlank()) {
+            return "customerName is required";
+        }
+        if (order.getItems() == null) {
+            return "items is required";
+        }
+        for (OrderItem item : order.getItems()) {
+            if (item.getQuantity() <= 0) {
+                return "Item quantity must be positive";
+            }
+            if (item.getPrice() == null || item.getPrice().isNegative()) {
+                return "Item price must not be negative";
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.ordermanagement.service;
+
+import com.example.ordermanagement.model.Order;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of fully loaded orders (including items) keyed by id.
+ *
+ * <p>Entries are futures: the first reader of a key installs one and loads the order on its own
+ * thread, outside any map lock, so a database read never pins a virtual thread; concurrent readers
+ * of the same key wait on that future. Writers evict after their transaction completes, which
+ * removes the entry even while a load is still in flight, so a value read before the commit never
+ * outlives it. Cached instances are shared between requests and must not be modified; write paths
+ * load their own copy from the repository.
+ */
+@Component
+public class OrderCache implements MeterBinder {
+
+    private final AsyncCache<Long, Order> cache;
+
+    public OrderCache(@Value("${orders.cache.maximum-size:10000}") long maximumSize,
+                      @Value("${orders.cache.expire-after-write:PT5M}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .buildAsync();
+    }
+
+    public Order get(Long id, Function<Long, Order> loader) {
+        CompletableFuture<Order> created = new CompletableFuture<>();
+        CompletableFuture<Order> entry = cache.get(id, (key, executor) -> created);
+        if (entry == created) {
+            // This caller won the miss and performs the load; failed or null results are not kept
+            try {
+                Order order = loader.apply(id);
+                created.complete(order);
+                return order;
+            } catch (RuntimeException | Error ex) {
+                created.completeExceptionally(ex);
+                throw ex;
+            }
+        }
+        try {
+            return entry.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    public void evictAfterCommit(Long id) {
+        evictAfterCommit(List.of(id));
+    }
+
+    public void evictAfterCommit(Collection<Long> ids) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.synchronous().invalidateAll(ids);
+            return;
+        }
+        List<Long> evicted = List.copyOf(ids);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                // Also on rollback: the transaction may have loaded and cached rows it then failed to change
+                cache.synchronous().invalidateAll(evicted);
+            }
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size, ... tagged cache=orders
+        CaffeineCacheMetrics.monitor(registry, cache, "orders");
+    }
+
+    public void evictAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    public long size() {
+        // Run pending maintenance (evictions, expirations) so the count is current
+        cache.synchronous().cleanUp();
+        return cache.synchronous().estimatedSize();
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.ordermanagement.service;
+
+import com.example.ordermanagement.model.OrderStatus;
+
+import java.time.Instant;
+
+/**
+ * One entry of the order event journal. {@code from} is null for {@link Type#CREATED}; {@code to} is
+ * the status the order has after the event, so replaying {@code to} per order rebuilds its status.
+ */
+public record OrderEvent(long sequence, Instant timestamp, Type type, long orderId, OrderStatus from, OrderStatus to) {
+
+    // Ordinals of Type and OrderStatus are part of the journal format; only append new constants
+    public enum Type {
+        CREATED,
+        STATUS_CHANGED,
+        CANCELLED
+    }
+}
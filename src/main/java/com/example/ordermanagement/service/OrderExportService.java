@@ -0,0 +1,112 @@
+package com.example.ordermanagement.service;
+
+import com.example.ordermanagement.exception.BadRequestException;
+import com.example.ordermanagement.model.Order;
+import com.example.ordermanagement.model.OrderStatus;
+import com.example.ordermanagement.repository.OrderRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Writes orders as newline-delimited JSON, or as a Smile or CBOR sequence, while they are read from
+ * the database, so memory use does not grow with the number of exported orders.
+ */
+@Service
+public class OrderExportService {
+
+    // Stand-ins for an open range, so every export is a bounded range scan on an index
+    static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${orders.export.clear-interval:500}")
+    private int clearInterval = 500;
+
+    private final Map<ExportFormat, ObjectWriter> writers = new EnumMap<>(ExportFormat.class);
+
+    // The binary mappers copy the JSON one, so every format carries the same fields; built once
+    // here because a fresh mapper would also start with empty serializer caches
+    @PostConstruct
+    void initWriters() {
+        writers.put(ExportFormat.NDJSON, writer(objectMapper).withRootValueSeparator("\n"));
+        writers.put(ExportFormat.SMILE, writer(objectMapper.copyWith(new SmileFactory())));
+        writers.put(ExportFormat.CBOR, writer(objectMapper.copyWith(new CBORFactory())));
+    }
+
+    private static ObjectWriter writer(ObjectMapper mapper) {
+        return mapper.writerFor(Order.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @Transactional(readOnly = true)
+    public long exportOrders(OrderStatus status, LocalDateTime from, LocalDateTime to, OutputStream out)
+            throws IOException {
+        return exportOrders(status, from, to, ExportFormat.NDJSON, out);
+    }
+
+    @Transactional(readOnly = true)
+    public long exportOrders(OrderStatus status, LocalDateTime from, LocalDateTime to, ExportFormat format,
+                             OutputStream out) throws IOException {
+        requireValidRange(from, to);
+
+        ObjectWriter writer = writers.get(format);
+
+        long count = 0;
+        LocalDateTime lower = from != null ? from : EARLIEST;
+        LocalDateTime upper = to != null ? to : LATEST;
+        try (Stream<Order> orders = status != null
+                ? orderRepository.streamByStatusAndCreatedAtRange(status, lower, upper)
+                : orderRepository.streamByCreatedAtRange(lower, upper);
+             SequenceWriter rows = writer.writeValues(out)) {
+            Iterator<Order> iterator = orders.iterator();
+            while (iterator.hasNext()) {
+                rows.write(iterator.next());
+                if (++count % clearInterval == 0) {
+                    // Written rows are no longer needed; detach them so the persistence context stays small
+                    rows.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+        if (count > 0 && format == ExportFormat.NDJSON) {
+            out.write('\n');
+        }
+        out.flush();
+        return count;
+    }
+
+    public static void requireValidRange(LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new BadRequestException("'from' must be before 'to'");
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.ordermanagement.service;
+
+import com.example.ordermanagement.dto.BatchOrderResult;
+import com.example.ordermanagement.dto.IntakeStatus;
+import com.example.ordermanagement.exception.BadRequestException;
+import com.example.ordermanagement.exception.IntakeRejectedException;
+import com.example.ordermanagement.exception.OrderNotFoundException;
+import com.example.ordermanagement.model.Order;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accept-and-queue order intake. When enabled, {@code POST /api/orders} validates the order, puts it
+ * on a bounded queue and answers 202 with an intake id; a single writer thread drains the queue and
+ * commits whatever has accumulated, up to {@code orders.intake.batch-size} orders, in one
+ * transaction. Under load many requests therefore share one commit instead of paying for their own.
+ *
+ * <p>A full queue rejects new orders (429) rather than growing. On shutdown the writer stops after
+ * the web server, and persists everything still queued before the database goes away.
+ */
+@Slf4j
+@Service
+public class OrderIntakeService implements SmartLifecycle, MeterBinder {
+
+    private final OrderBatchService orderBatchService;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration shutdownTimeout;
+    private final BlockingQueue<QueuedOrder> queue;
+    private final Cache<String, IntakeStatus> statuses;
+
+    private volatile boolean accepting;
+    private volatile boolean running;
+    private Thread writer;
+
+    private Counter acceptedCounter;
+    private Counter rejectedCounter;
+    private Counter persistedCounter;
+    private Counter failedCounter;
+    private Counter groupCounter;
+
+    public OrderIntakeService(OrderBatchService orderBatchService,
+                              @Value("${orders.intake.async.enabled:false}") boolean enabled,
+                              @Value("${orders.intake.queue-capacity:10000}") int queueCapacity,
+                              @Value("${orders.intake.batch-size:100}") int batchSize,
+                              @Value("${orders.intake.status-retention:PT10M}") Duration statusRetention,
+                              @Value("${orders.intake.status-max-entries:100000}") long statusMaxEntries,
+                              @Value("${orders.intake.shutdown-timeout:PT30S}") Duration shutdownTimeout) {
+        this.orderBatchService = orderBatchService;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.shutdownTimeout = shutdownTimeout;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        // Queued entries must outlive their wait in the queue; outcomes are kept for the retention period,
+        // or until statusMaxEntries pushes the least used ones out
+        this.statuses = Caffeine.newBuilder()
+                .expireAfterWrite(statusRetention)
+                .maximumSize(statusMaxEntries)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public IntakeStatus submit(Order order) {
+        String error = OrderBatchService.validate(order);
+        if (error != null) {
+            throw new BadRequestException(error);
+        }
+        if (!accepting) {
+            increment(rejectedCounter);
+            throw new IntakeRejectedException("Order intake is not accepting orders");
+        }
+        IntakeStatus status = IntakeStatus.queued(UUID.randomUUID().toString());
+        // Recorded first so the writer never completes an order whose status is not yet visible
+        statuses.put(status.getIntakeId(), status);
+        if (!queue.offer(new QueuedOrder(status.getIntakeId(), order))) {
+            statuses.invalidate(status.getIntakeId());
+            increment(rejectedCounter);
+            throw new IntakeRejectedException("Order intake queue is full, retry later");
+        }
+        increment(acceptedCounter);
+        return status;
+    }
+
+    public IntakeStatus getStatus(String intakeId) {
+        IntakeStatus status = statuses.getIfPresent(intakeId);
+        if (status == null) {
+            throw new OrderNotFoundException("No order intake found with id: " + intakeId);
+        }
+        return status;
+    }
+
+    public int queuedCount() {
+        return queue.size();
+    }
+
+    private void drain() {
+        List<QueuedOrder> group = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                QueuedOrder first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                queue.drainTo(group, batchSize - 1);
+                persist(group);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                log.warn("Order intake writer interrupted with {} orders still queued", queue.size());
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Order intake group of {} failed", group.size(), ex);
+                for (QueuedOrder queued : group) {
+                    complete(queued, IntakeStatus.failed(queued.intakeId(), "Order could not be persisted"));
+                }
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void persist(List<QueuedOrder> group) {
+        List<BatchOrderResult> results = orderBatchService.persistChunk(group.stream().map(QueuedOrder::order).toList());
+        increment(groupCounter);
+        for (int i = 0; i < group.size(); i++) {
+            QueuedOrder queued = group.get(i);
+            BatchOrderResult result = results.get(i);
+            complete(queued, result.isCreated()
+                    ? IntakeStatus.persisted(queued.intakeId(), result.getOrderId())
+                    : IntakeStatus.failed(queued.intakeId(), result.getError()));
+        }
+    }
+
+    private void complete(QueuedOrder queued, IntakeStatus status) {
+        statuses.put(queued.intakeId(), status);
+        increment(status.getState() == IntakeStatus.State.PERSISTED ? persistedCounter : failedCounter);
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        accepting = true;
+        writer = new Thread(this::drain, "order-intake-writer");
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        accepting = false;
+        running = false;
+        log.info("Draining {} queued orders before shutdown", queue.size());
+        try {
+            writer.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            log.warn("Order intake writer did not finish within {}, {} orders not persisted", shutdownTimeout, queue.size());
+            writer.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Lower phases stop later: after graceful shutdown (DEFAULT_PHASE - 1024) and the web server
+        // itself (DEFAULT_PHASE - 2048), so no request can enqueue once draining starts
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("orders.intake.queue.size", queue, BlockingQueue::size)
+                .description("Orders accepted but not yet persisted")
+                .register(registry);
+        acceptedCounter = intakeCounter(registry, "accepted");
+        rejectedCounter = intakeCounter(registry, "rejected");
+        persistedCounter = intakeCounter(registry, "persisted");
+        failedCounter = intakeCounter(registry, "failed");
+        groupCounter = Counter.builder("orders.intake.commits")
+                .description("Group transactions committed by the intake writer")
+                .register(registry);
+    }
+
+    private static Counter intakeCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("orders.intake.orders")
+                .description("Orders by intake outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    // Counters are absent until the service is bound to a registry, e.g. in plain unit tests
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    private record QueuedOrder(String intakeId, Order order) {
+    }
+}
@@ -0,0 +1,356 @@
+package com.example.ordermanagement.service;
+
+import com.example.ordermanagement.model.Order;
+import com.example.ordermanagement.model.OrderStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of committed order events on memory-mapped segment files.
+ *
+ * <p>An append is a few puts into the mapped segment under a lock, so the write path pays no
+ * system call. A flusher thread forces everything appended since its last run to disk once per
+ * {@code orders.journal.flush-interval}, one fsync for the whole group. A process crash loses
+ * nothing, because written pages are already in the page cache. An OS crash loses at most one
+ * interval. A segment that cannot take another record is forced completely, and appends continue
+ * in a new segment named by its first sequence. On start the tail of the last segment is verified
+ * by checksum, and appending resumes after the last intact record.
+ *
+ * <p>Events are recorded after their transaction commits and never fail the caller. I/O errors are
+ * logged and counted in {@code orders.journal.failures}.
+ */
+@Slf4j
+@Component
+public class OrderJournal implements SmartLifecycle, MeterBinder {
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+    private final Duration flushInterval;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final CRC32C checksum = new CRC32C();
+
+    // Guarded by appendLock
+    private MappedByteBuffer segment;
+    private int position;
+    private int flushedPosition;
+    private long nextSequence = 1;
+
+    private volatile boolean running;
+    private volatile long durableSequence;
+    private Thread flusher;
+
+    private Counter eventCounter;
+    private Counter failureCounter;
+    private Timer flushTimer;
+
+    public OrderJournal(@Value("${orders.journal.enabled:false}") boolean enabled,
+                        @Value("${orders.journal.directory:data/journal}") Path directory,
+                        @Value("${orders.journal.segment-size:64MB}") DataSize segmentSize,
+                        @Value("${orders.journal.flush-interval:PT0.01S}") Duration flushInterval) {
+        if (segmentSize.toBytes() < OrderJournalReader.RECORD_BYTES || segmentSize.toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Journal segment size must be between "
+                    + OrderJournalReader.RECORD_BYTES + " bytes and 2GB");
+        }
+        this.enabled = enabled;
+        this.directory = directory;
+        this.segmentSize = (int) segmentSize.toBytes();
+        this.flushInterval = flushInterval;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void recordCreated(Order order) {
+        if (enabled) {
+            Long id = order.getId();
+            OrderStatus status = order.getStatus();
+            if (id == null) {
+                log.error("Cannot journal the creation of an order without an id");
+                increment(failureCounter);
+                return;
+            }
+            afterCommit(() -> append(OrderEvent.Type.CREATED, id, null, status));
+        }
+    }
+
+    public void recordTransition(Long orderId, OrderStatus from, OrderStatus to) {
+        recordTransitions(List.of(orderId), from, to);
+    }
+
+    public void recordTransitions(Collection<Long> orderIds, OrderStatus from, OrderStatus to) {
+        if (enabled && !orderIds.isEmpty()) {
+            List<Long> ids = List.copyOf(orderIds);
+            OrderEvent.Type type = to == OrderStatus.CANCELLED ? OrderEvent.Type.CANCELLED : OrderEvent.Type.STATUS_CHANGED;
+            afterCommit(() -> {
+                for (Long id : ids) {
+                    append(type, id, from, to);
+                }
+            });
+        }
+    }
+
+    // The write has committed by the time the action runs, so a failure to journal it must not
+    // reach the caller as if the write itself had failed
+    private void afterCommit(Runnable action) {
+        AfterCommit.execute(() -> {
+            try {
+                action.run();
+            } catch (RuntimeException ex) {
+                log.error("Failed to journal a committed order change", ex);
+                increment(failureCounter);
+            }
+        });
+    }
+
+    /** Appends an event and returns its sequence, or -1 if the journal is not running or the write failed. */
+    long append(OrderEvent.Type type, long orderId, OrderStatus from, OrderStatus to) {
+        appendLock.lock();
+        try {
+            if (!running) {
+                log.warn("Order journal is not running, dropped {} event of order {}", type, orderId);
+                increment(failureCounter);
+                return -1;
+            }
+            if (position + OrderJournalReader.RECORD_BYTES > segment.limit()) {
+                roll();
+            }
+            long sequence = nextSequence++;
+            OrderJournalReader.encode(segment, position, checksum, sequence, System.currentTimeMillis(),
+                    type, orderId, from, to);
+            position += OrderJournalReader.RECORD_BYTES;
+            increment(eventCounter);
+            return sequence;
+        } catch (IOException | RuntimeException ex) {
+            log.error("Failed to journal {} event of order {}", type, orderId, ex);
+            increment(failureCounter);
+            return -1;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /** Forces everything appended so far to disk; the flusher thread calls this once per interval. */
+    public void flush() {
+        flushLock.lock();
+        try {
+            MappedByteBuffer target;
+            int from;
+            int to;
+            long sequence;
+            appendLock.lock();
+            try {
+                if (segment == null) {
+                    return;
+                }
+                target = segment;
+                from = flushedPosition;
+                to = position;
+                sequence = nextSequence - 1;
+                flushedPosition = position;
+            } finally {
+                appendLock.unlock();
+            }
+            // Outside the append lock: appends continue while the pages are written back
+            if (to > from) {
+                long start = System.nanoTime();
+                target.force(from, to - from);
+                if (flushTimer != null) {
+                    flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            }
+            durableSequence = sequence;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /** Sequence of the last event known to be on disk. */
+    public long getDurableSequence() {
+        return durableSequence;
+    }
+
+    public OrderJournalReader reader(long fromSequence) {
+        return OrderJournalReader.open(directory, fromSequence);
+    }
+
+    public void replay(long fromSequence, Consumer<OrderEvent> consumer) {
+        reader(fromSequence).forEachRemaining(consumer);
+    }
+
+    /** Rebuilds the current status of every journaled order by replaying the whole journal. */
+    public Map<Long, OrderStatus> rebuildStatuses() {
+        Map<Long, OrderStatus> statuses = new HashMap<>();
+        replay(1, event -> statuses.put(event.orderId(), event.to()));
+        return statuses;
+    }
+
+    // Called with appendLock held
+    private void roll() throws IOException {
+        segment.force();
+        openSegment(nextSequence);
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        Path file = directory.resolve(OrderJournalReader.segmentName(firstSequence));
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // Mapping beyond the end grows the file; the new region reads as zeros, i.e. "no record"
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        position = 0;
+        flushedPosition = 0;
+    }
+
+    private void recover() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> segments = OrderJournalReader.segments(directory);
+        if (segments.isEmpty()) {
+            openSegment(1);
+            return;
+        }
+        Path last = segments.get(segments.size() - 1);
+        try (FileChannel channel = FileChannel.open(last, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        }
+        long sequence = OrderJournalReader.firstSequence(last);
+        int end = 0;
+        OrderEvent event;
+        while ((event = OrderJournalReader.decode(segment, end, checksum)) != null && event.sequence() == sequence) {
+            sequence++;
+            end += OrderJournalReader.RECORD_BYTES;
+        }
+        if (hasDataFrom(end)) {
+            // A record torn by a crash. Pages of the mapping reach disk in any order, so a torn
+            // record can read as empty while later slots still hold stale records that would carry
+            // the very sequences appended next: clear everything after the last valid record.
+            log.warn("Order journal segment {} has a damaged record after sequence {}, truncating", last, sequence - 1);
+            for (int i = end; i < segment.limit(); i++) {
+                segment.put(i, (byte) 0);
+            }
+            segment.force();
+        }
+        position = end;
+        flushedPosition = end;
+        nextSequence = sequence;
+        durableSequence = sequence - 1;
+    }
+
+    private boolean hasDataFrom(int offset) {
+        for (int i = offset; i < segment.limit(); i++) {
+            if (segment.get(i) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        appendLock.lock();
+        try {
+            recover();
+            running = true;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot open order journal in " + directory, ex);
+        } finally {
+            appendLock.unlock();
+        }
+        flusher = new Thread(() -> {
+            while (running) {
+                LockSupport.parkNanos(flushInterval.toNanos());
+                flush();
+            }
+        }, "order-journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Order journal open in {}, next sequence {}", directory, nextSequence);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        appendLock.lock();
+        try {
+            running = false;
+        } finally {
+            appendLock.unlock();
+        }
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        log.info("Order journal closed at sequence {}", durableSequence);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Stops after the async intake writer (DEFAULT_PHASE - 4096), whose commits are still journaled
+        return SmartLifecycle.DEFAULT_PHASE - 8192;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        eventCounter = Counter.builder("orders.journal.events")
+                .description("Order events appended to the journal")
+                .register(registry);
+        failureCounter = Counter.builder("orders.journal.failures")
+                .description("Order events that could not be journaled")
+                .register(registry);
+        flushTimer = Timer.builder("orders.journal.flush")
+                .description("Time to force a group of journal appends to disk")
+                .register(registry);
+        Gauge.builder("orders.journal.durable.sequence", this, OrderJournal::getDurableSequence)
+                .description("Sequence of the last journal event known to be on disk")
+                .register(registry);
+    }
+
+    // Meters are absent until bound to a registry, e.g. in plain unit tests
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+}
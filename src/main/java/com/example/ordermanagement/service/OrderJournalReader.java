@@ -0,0 +1,174 @@
+package com.example.ordermanagement.service;
+
+import com.example.ordermanagement.model.OrderStatus;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Sequential reader over the segments of an {@link OrderJournal}, oldest event first.
+ *
+ * <p>Record layout, big-endian ({@link ByteBuffer}'s default on every platform):
+ * <pre>
+ *   int  payload length (always {@value #PAYLOAD_BYTES}; 0 marks the unused end of a segment)
+ *   int  CRC32C of the payload
+ *   long sequence, long timestamp (epoch millis), long order id,
+ *   byte event type, byte from status (-1 for none), byte to status
+ * </pre>
+ * A segment ends at the first record whose length is 0, does not fit, or fails its checksum; the
+ * latter is a write torn by a crash and everything after it in that segment is ignored.
+ */
+public class OrderJournalReader implements Iterator<OrderEvent> {
+
+    static final int HEADER_BYTES = 8;
+    static final int PAYLOAD_BYTES = 27;
+    static final int RECORD_BYTES = HEADER_BYTES + PAYLOAD_BYTES;
+    static final String SEGMENT_SUFFIX = ".journal";
+
+    private static final OrderEvent.Type[] TYPES = OrderEvent.Type.values();
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private final Iterator<Path> segments;
+    private final long fromSequence;
+    private final CRC32C checksum = new CRC32C();
+    private ByteBuffer segment;
+    private int position;
+    private OrderEvent next;
+
+    OrderJournalReader(List<Path> segments, long fromSequence) {
+        this.segments = segments.iterator();
+        this.fromSequence = fromSequence;
+    }
+
+    /** Reads the events of the journal in {@code directory} with a sequence of at least {@code fromSequence}. */
+    public static OrderJournalReader open(Path directory, long fromSequence) {
+        List<Path> segments = segments(directory);
+        // Segments are named by their first sequence; earlier segments hold nothing to return
+        int first = 0;
+        for (int i = 1; i < segments.size(); i++) {
+            if (firstSequence(segments.get(i)) <= fromSequence) {
+                first = i;
+            }
+        }
+        return new OrderJournalReader(segments.subList(first, segments.size()), fromSequence);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = advance();
+        }
+        return next != null;
+    }
+
+    @Override
+    public OrderEvent next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        OrderEvent event = next;
+        next = null;
+        return event;
+    }
+
+    private OrderEvent advance() {
+        while (true) {
+            if (segment == null) {
+                if (!segments.hasNext()) {
+                    return null;
+                }
+                segment = map(segments.next());
+                position = 0;
+            }
+            OrderEvent event = decode(segment, position, checksum);
+            if (event == null) {
+                segment = null;
+                continue;
+            }
+            position += RECORD_BYTES;
+            if (event.sequence() >= fromSequence) {
+                return event;
+            }
+        }
+    }
+
+    static List<Path> segments(Path directory) {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .toList();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    static long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    static String segmentName(long firstSequence) {
+        // Zero-padded so lexical order is sequence order
+        return String.format("%020d%s", firstSequence, SEGMENT_SUFFIX);
+    }
+
+    private static MappedByteBuffer map(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    static void encode(ByteBuffer buffer, int position, CRC32C checksum, long sequence, long timestamp,
+                       OrderEvent.Type type, long orderId, OrderStatus from, OrderStatus to) {
+        int payload = position + HEADER_BYTES;
+        buffer.putLong(payload, sequence);
+        buffer.putLong(payload + 8, timestamp);
+        buffer.putLong(payload + 16, orderId);
+        buffer.put(payload + 24, (byte) type.ordinal());
+        buffer.put(payload + 25, (byte) (from == null ? -1 : from.ordinal()));
+        buffer.put(payload + 26, (byte) to.ordinal());
+        checksum.reset();
+        checksum.update(buffer.slice(payload, PAYLOAD_BYTES));
+        buffer.putInt(position + 4, (int) checksum.getValue());
+        // Length last: a concurrent reader sees either nothing or a complete record
+        buffer.putInt(position, PAYLOAD_BYTES);
+    }
+
+    // Null at the end of the segment's records
+    static OrderEvent decode(ByteBuffer buffer, int position, CRC32C checksum) {
+        if (position + RECORD_BYTES > buffer.limit() || buffer.getInt(position) != PAYLOAD_BYTES) {
+            return null;
+        }
+        int payload = position + HEADER_BYTES;
+        checksum.reset();
+        checksum.update(buffer.slice(payload, PAYLOAD_BYTES));
+        if ((int) checksum.getValue() != buffer.getInt(position + 4)) {
+            return null;
+        }
+        byte from = buffer.get(payload + 25);
+        return new OrderEvent(
+                buffer.getLong(payload),
+                Instant.ofEpochMilli(buffer.getLong(payload + 8)),
+                TYPES[buffer.get(payload + 24)],
+                buffer.getLong(payload + 16),
+                from < 0 ? null : STATUSES[from],
+                STATUSES[buffer.get(payload + 26)]);
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.ordermanagement.service;
+
+import com.example.ordermanagement.model.OrderStatus;
+import com.example.ordermanagement.repository.OrderRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Moves orders between statuses with set-based UPDATE statements, one bounded chunk per
+ * transaction, so row locks are only held for the duration of a single chunk.
+ *
+ * <p>{@link #promoteShards} is safe to run on every instance sharing the database: the orders are
+ * split into shards of {@code orders.promotion.shard-size} consecutive ids, and an instance only
+ * works on a shard while it holds that shard's {@link SchedulerLeases lease}. Instances running at
+ * the same time therefore divide the shards between them instead of scanning the same rows.
+ */
+@Slf4j
+@Service
+public class OrderPromotionService implements MeterBinder {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private OrderCache orderCache;
+
+    @Autowired
+    private OrderStatusCounters orderStatusCounters;
+
+    @Autowired
+    private OrderJournal orderJournal;
+
+    @Autowired
+    private SchedulerLeases schedulerLeases;
+
+    @Value("${orders.promotion.chunk-size:500}")
+    private int chunkSize = 500;
+
+    @Value("${orders.promotion.shard-size:100000}")
+    private long shardSize = 100_000;
+
+    // Renewed after every chunk; bounds how long a crashed instance keeps its shard from the others
+    @Value("${orders.promotion.lease-duration:PT5M}")
+    private Duration leaseDuration = Duration.ofMinutes(5);
+
+    // A finished shard stays leased at least this long after it was taken, so instances whose run
+    // starts a little later skip it instead of scanning it again
+    @Value("${orders.promotion.min-lease-hold:PT1M}")
+    private Duration minLeaseHold = Duration.ofMinutes(1);
+
+    private final AtomicReference<PromotionResult> lastResult = new AtomicReference<>();
+
+    /**
+     * Moves every order in {@code from} to {@code to}, one shard of ids at a time, each under its own
+     * lease. Shards leased by another instance are skipped; they are that instance's to promote. A
+     * shard whose lease is lost mid-way, because renewing it failed, is left for whoever takes the
+     * lease over. On a single instance every shard is promoted.
+     */
+    public PromotionResult promoteShards(OrderStatus from, OrderStatus to) {
+        long start = System.nanoTime();
+        // Orders created after the run starts wait for the next run, which guarantees termination
+        LocalDateTime cutoff = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Long minId = orderRepository.findMinIdByStatusCreatedBefore(from, cutoff);
+        Long maxId = orderRepository.findMaxIdByStatusCreatedBefore(from, cutoff);
+
+        long rowsMoved = 0;
+        int chunks = 0;
+        int shards = 0;
+        if (minId != null) {
+            for (long shard = minId / shardSize; shard <= maxId / shardSize; shard++) {
+                String lease = leasePrefix(from) + shard;
+                LocalDateTime leasedAt = LocalDateTime.now();
+                if (!schedulerLeases.tryAcquire(lease, leaseDuration)) {
+                    continue;
+                }
+                try {
+                    // The cutoff is applied through maxId, keeping created_at out of the shard scan
+                    ShardTotals totals = promoteShard(from, to, lease,
+                            shard * shardSize, Math.min((shard + 1) * shardSize, maxId + 1));
+                    rowsMoved += totals.rowsMoved();
+                    chunks += totals.chunks();
+                    shards++;
+                } finally {
+                    schedulerLeases.release(lease, leasedAt.plus(minLeaseHold));
+                }
+            }
+        }
+        // Promoted shards hold no more orders in `from`, so their leases would pile up run after run
+        schedulerLeases.deleteExpired(leasePrefix(from));
+        return finish(from, to, rowsMoved, chunks, shards, start);
+    }
+
+    private static String leasePrefix(OrderStatus from) {
+        return "order-promotion-" + from + "-";
+    }
+
+    private record ShardTotals(long rowsMoved, int chunks) {
+    }
+
+    // Moves the ids in [fromId, beforeId) chunk by chunk, renewing the lease before each chunk
+    private ShardTotals promoteShard(OrderStatus from, OrderStatus to, String lease, long fromId, long beforeId) {
+        TransactionTemplate chunkTransaction = new TransactionTemplate(transactionManager);
+        chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        long rowsMoved = 0;
+        int chunks = 0;
+        long afterId = fromId - 1;
+        while (schedulerLeases.renew(lease, leaseDuration)) {
+            List<Long> ids = orderRepository.findIdsInRangeByStatus(from, afterId, beforeId, PageRequest.ofSize(chunkSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            afterId = ids.get(ids.size() - 1);
+            Integer updated = chunkTransaction.execute(status -> {
+                orderCache.evictAfterCommit(ids);
+                // Truncated to the column precision so the moved rows can be found by it below
+                LocalDateTime updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+                int moved = orderRepository.updateStatusByIds(ids, from, to, updatedAt);
+                orderStatusCounters.recordTransition(from, to, moved);
+                if (orderJournal.isEnabled()) {
+                    // Rows changed by another transaction between the SELECT and the UPDATE were skipped
+                    orderJournal.recordTransitions(moved == ids.size()
+                            ? ids
+                            : orderRepository.findIdsMovedAt(ids, to, updatedAt), from, to);
+                }
+                return moved;
+            });
+            rowsMoved += updated;
+            chunks++;
+        }
+        return new ShardTotals(rowsMoved, chunks);
+    }
+
+    private PromotionResult finish(OrderStatus from, OrderStatus to, long rowsMoved, int chunks, int shards,
+                                   long start) {
+        PromotionResult result = new PromotionResult(from, to, rowsMoved, chunks, shards,
+                Duration.ofNanos(System.nanoTime() - start));
+        lastResult.set(result);
+        log.info("Promoted {} orders from {} to {} in {} chunk(s) of {} shard(s) in {} ms",
+                result.rowsMoved(), from, to, result.chunks(), result.shards(), result.duration().toMillis());
+        return result;
+    }
+
+    public PromotionResult getLastResult() {
+        return lastResult.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("orders.promotion.last.rows", lastResult, last -> last.get() == null ? 0 : last.get().rowsMoved())
+                .description("Orders moved by the last promotion run")
+                .register(registry);
+        Gauge.builder("orders.promotion.last.chunks", lastResult, last -> last.get() == null ? 0 : last.get().chunks())
+                .description("Chunks committed by the last promotion run")
+                .register(registry);
+        Gauge.builder("orders.promotion.last.shards", lastResult, last -> last.get() == null ? 0 : last.get().shards())
+                .description("Shards promoted by this instance in the last promotion run")
+                .register(registry);
+        Gauge.builder("orders.promotion.last.duration", lastResult,
+                        last -> last.get() == null ? 0 : last.get().duration().toNanos() / (double) TimeUnit.SECONDS.toNanos(1))
+                .description("Duration of the last promotion run")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("orders.promotion.chunk.size", this, service -> service.chunkSize)
+                .description("Maximum orders moved per chunk")
+                .register(registry);
+    }
+}
@@ -1,66 +1,253 @@
 package com.example.ordermanagement.service;
 
+import com.example.ordermanagement.dto.CursorPage;
+import com.example.ordermanagement.dto.OrderSummary;
+import com.example.ordermanagement.dto.OrderVersion;
+import com.example.ordermanagement.exception.BadRequestException;
 import com.example.ordermanagement.exception.OrderNotFoundException;
 import com.example.ordermanagement.model.Order;
 import com.example.ordermanagement.model.OrderItem;
 import com.example.ordermanagement.model.OrderStatus;
 import com.example.ordermanagement.repository.OrderRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
+@Timed(value = "orders.service", percentiles = {0.5, 0.95, 0.99}, histogram = true)
 public class OrderService {
-    
+
+    private static final Sort KEYSET_ORDER = Sort.by("createdAt", "id");
+
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private OrderPromotionService orderPromotionService;
+
+    @Autowired
+    private OrderCache orderCache;
+
+    @Autowired
+    private OrderStatusCounters orderStatusCounters;
+
+    @Autowired
+    private OrderJournal orderJournal;
+
+    @Value("${orders.page.default-size:50}")
+    private int defaultPageSize = 50;
+
+    @Value("${orders.page.max-size:500}")
+    private int maxPageSize = 500;
+
+    @Value("${orders.status.max-attempts:3}")
+    private int maxTransitionAttempts = 3;
+
+    @Value("${orders.status.retry-backoff:PT0.01S}")
+    private Duration transitionRetryBackoff = Duration.ofMillis(10);
+
     @Transactional
     public Order createOrder(Order order) {
         for (OrderItem item: order.getItems()) {
             item.setOrder(order);
         }
-        return orderRepository.save(order);
+        Order saved = orderRepository.save(order);
+        orderStatusCounters.recordCreated(saved.getStatus());
+        orderJournal.recordCreated(saved);
+        return saved;
     }
 
     public Order getOrderById(Long id) {
-        return orderRepository.findById(id)
-                .orElseThrow(() -> new OrderNotFoundException(id));
+        Order order = orderCache.get(id, key -> orderRepository.findWithItemsById(key).orElse(null));
+        if (order == null) {
+            throw new OrderNotFoundException(id);
+        }
+        return order;
     }
 
-    public List<Order> getAllOrders() {
-        return orderRepository.findAll();
+    public long getOrderVersion(Long id) {
+        return orderRepository.findVersionById(id).orElseThrow(() -> new OrderNotFoundException(id));
     }
 
-    public List<Order> getOrdersByStatus(OrderStatus status) {
-        return orderRepository.findByStatus(status);
+    public Map<OrderStatus, Long> getStatusCounts() {
+        return orderStatusCounters.snapshot();
     }
 
-    @Transactional
+    public CursorPage<Order> getOrders(OrderStatus status, String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        return loadOrderPage(findPageIds(status, cursor, pageSize), pageSize);
+    }
+
+    public CursorPage<Order> getOrdersByCustomerEmail(String customerEmail, String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
+        OrderCursor after = decodeCursor(cursor);
+        List<Long> ids = after == null
+                ? orderRepository.findFirstPageIdsByCustomerEmail(customerEmail, limit)
+                : orderRepository.findPageIdsByCustomerEmailAfter(customerEmail, after.createdAt(), after.id(), limit);
+        return loadOrderPage(ids, pageSize);
+    }
+
+    // ids holds up to pageSize + 1 ids in keyset order; the extra one only signals a next page
+    private CursorPage<Order> loadOrderPage(List<Long> ids, int pageSize) {
+        boolean hasNext = ids.size() > pageSize;
+        if (hasNext) {
+            ids = ids.subList(0, pageSize);
+        }
+        List<Order> orders = ids.isEmpty() ? List.of() : orderRepository.findByIdIn(ids, KEYSET_ORDER);
+
+        String nextCursor = null;
+        if (hasNext && !orders.isEmpty()) {
+            Order last = orders.get(orders.size() - 1);
+            nextCursor = new OrderCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(orders, orders.size(), nextCursor);
+    }
+
+    // The same page as getOrders, reduced to what changes when any order on it changes
+    public CursorPage<OrderVersion> getOrderVersions(OrderStatus status, String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        List<Long> ids = findPageIds(status, cursor, pageSize);
+
+        boolean hasNext = ids.size() > pageSize;
+        if (hasNext) {
+            ids = ids.subList(0, pageSize);
+        }
+        List<OrderVersion> versions = ids.isEmpty() ? List.of() : orderRepository.findVersionsByIdIn(ids);
+
+        String nextCursor = null;
+        if (hasNext && !versions.isEmpty()) {
+            OrderVersion last = versions.get(versions.size() - 1);
+            nextCursor = new OrderCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(versions, versions.size(), nextCursor);
+    }
+
+    private List<Long> findPageIds(OrderStatus status, String cursor, int pageSize) {
+        // One extra row tells us whether another page exists without a count query
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
+        OrderCursor after = decodeCursor(cursor);
+
+        if (status == null) {
+            return after == null
+                    ? orderRepository.findFirstPageIds(limit)
+                    : orderRepository.findPageIdsAfter(after.createdAt(), after.id(), limit);
+        }
+        return after == null
+                ? orderRepository.findFirstPageIdsByStatus(status, limit)
+                : orderRepository.findPageIdsByStatusAfter(status, after.createdAt(), after.id(), limit);
+    }
+
+    public CursorPage<OrderSummary> getOrderSummaries(OrderStatus status, String cursor, Integer size) {
+        int pageSize = resolvePageSize(size);
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
+        OrderCursor after = decodeCursor(cursor);
+
+        List<OrderSummary> summaries;
+        if (status == null) {
+            summaries = after == null
+                    ? orderRepository.findFirstSummaryPage(limit)
+                    : orderRepository.findSummaryPageAfter(after.createdAt(), after.id(), limit);
+        } else {
+            summaries = after == null
+                    ? orderRepository.findFirstSummaryPageByStatus(status, limit)
+                    : orderRepository.findSummaryPageByStatusAfter(status, after.createdAt(), after.id(), limit);
+        }
+
+        String nextCursor = null;
+        if (summaries.size() > pageSize) {
+            summaries = summaries.subList(0, pageSize);
+            OrderSummary last = summaries.get(pageSize - 1);
+            nextCursor = new OrderCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(summaries, summaries.size(), nextCursor);
+    }
+
+    private static OrderCursor decodeCursor(String cursor) {
+        return cursor != null && !cursor.isBlank() ? OrderCursor.decode(cursor) : null;
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        if (size < 1) {
+            throw new BadRequestException("Page size must be positive");
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    // Not transactional: every attempt of a transition commits on its own
     public Order updateOrderStatus(Long id, OrderStatus status) {
-        Order order = getOrderById(id);
-        order.setStatus(status);
-        return orderRepository.save(order);
+        transition(id, status);
+        return getOrderById(id);
     }
 
-    @Transactional
     public Order cancelOrder(Long id) {
-        Order order = getOrderById(id);
-        if (order.getStatus() != OrderStatus.PENDING) {
-            throw new IllegalStateException("Only PENDING orders can be cancelled");
+        transition(id, OrderStatus.CANCELLED);
+        return getOrderById(id);
+    }
+
+    // A transition is a conditional UPDATE guarded by its source status, so concurrent writers cannot
+    // overwrite each other's status; there is one per allowed source, which is one statement for every
+    // target today, so the counters know which status lost the order. Only when no row matched is the
+    // current status read, to tell a missing order and a disallowed transition from a lost race.
+    private void transition(Long id, OrderStatus target) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                for (OrderStatus source : target.getSources()) {
+                    if (orderRepository.transitionStatus(id, Set.of(source), target, LocalDateTime.now()) == 1) {
+                        orderCache.evictAfterCommit(id);
+                        orderStatusCounters.recordTransition(source, target, 1);
+                        orderJournal.recordTransition(id, source, target);
+                        return;
+                    }
+                }
+                OrderStatus current = orderRepository.findStatusById(id)
+                        .orElseThrow(() -> new OrderNotFoundException(id));
+                if (!current.canTransitionTo(target)) {
+                    throw new IllegalStateException("Cannot change order status from " + current + " to " + target);
+                }
+                // The status changed and was changed back in between; the transition is valid again
+                if (attempt >= maxTransitionAttempts) {
+                    throw new OptimisticLockingFailureException("Order " + id + " was modified concurrently");
+                }
+            } catch (ConcurrencyFailureException ex) {
+                if (attempt >= maxTransitionAttempts) {
+                    throw ex;
+                }
+            }
+            backOff(attempt);
+        }
+    }
+
+    private void backOff(int attempt) {
+        try {
+            Thread.sleep(transitionRetryBackoff.multipliedBy(attempt));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrencyFailureException("Interrupted while retrying status transition", ex);
         }
-        order.setStatus(OrderStatus.CANCELLED);
-        return orderRepository.save(order);
     }
 
     @Scheduled(fixedRate = 300000) // Run every 5 minutes
-    @Transactional
     public void updatePendingOrdersToProcessing() {
-        List<Order> pendingOrders = orderRepository.findByStatus(OrderStatus.PENDING);
-        pendingOrders.forEach(order -> order.setStatus(OrderStatus.PROCESSING));
-        orderRepository.saveAll(pendingOrders);
+        // Not transactional: each chunk commits on its own. Sharded under leases, so instances
+        // sharing the database split the work instead of all promoting the same orders
+        orderPromotionService.promoteShards(OrderStatus.PENDING, OrderStatus.PROCESSING);
     }
 } 
\ No newline at end of file
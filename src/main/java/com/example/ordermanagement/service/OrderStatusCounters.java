@@ -0,0 +1,129 @@
+package com.example.ordermanagement.service;
+
+import com.example.ordermanagement.dto.OrderStatusCount;
+import com.example.ordermanagement.model.OrderStatus;
+import com.example.ordermanagement.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Number of orders per status, kept in memory so dashboards do not have to list orders to count them.
+ *
+ * <p>The counters are seeded from a GROUP BY once the application is ready. After that, every write
+ * path records its change, and the change is applied only after its transaction commits, so a
+ * rollback never shows up. A periodic reconciliation compares the counters with the database,
+ * reports any drift and corrects it. Drift comes from writes that bypass the services. A commit
+ * whose after-commit callback has not run yet can also show up as drift, and the next run
+ * corrects that again.
+ */
+@Slf4j
+@Component
+public class OrderStatusCounters implements MeterBinder {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    private final Map<OrderStatus, LongAdder> counts = new EnumMap<>(OrderStatus.class);
+    private final Map<OrderStatus, Counter> driftCounters = new EnumMap<>(OrderStatus.class);
+
+    public OrderStatusCounters() {
+        for (OrderStatus status : OrderStatus.values()) {
+            counts.put(status, new LongAdder());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        correctTo(countInDatabase());
+        log.info("Seeded order status counters: {}", snapshot());
+    }
+
+    @Scheduled(fixedDelayString = "${orders.status-counts.reconcile-interval:PT5M}",
+            initialDelayString = "${orders.status-counts.reconcile-interval:PT5M}")
+    public Map<OrderStatus, Long> reconcile() {
+        Map<OrderStatus, Long> drift = correctTo(countInDatabase());
+        if (!drift.isEmpty()) {
+            drift.forEach((status, difference) -> increment(driftCounters.get(status), Math.abs(difference)));
+            log.warn("Order status counters drifted from the database by {}, corrected", drift);
+        }
+        return drift;
+    }
+
+    public Map<OrderStatus, Long> snapshot() {
+        Map<OrderStatus, Long> snapshot = new EnumMap<>(OrderStatus.class);
+        counts.forEach((status, count) -> snapshot.put(status, count.sum()));
+        return snapshot;
+    }
+
+    public void recordCreated(OrderStatus status) {
+        AfterCommit.execute(() -> counts.get(status).increment());
+    }
+
+    public void recordTransition(OrderStatus from, OrderStatus to, long orders) {
+        if (orders == 0) {
+            return;
+        }
+        AfterCommit.execute(() -> {
+            counts.get(from).add(-orders);
+            counts.get(to).add(orders);
+        });
+    }
+
+    private Map<OrderStatus, Long> countInDatabase() {
+        Map<OrderStatus, Long> database = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : OrderStatus.values()) {
+            database.put(status, 0L);
+        }
+        for (OrderStatusCount row : orderRepository.countByStatus()) {
+            database.put(row.getStatus(), row.getCount());
+        }
+        return database;
+    }
+
+    // Adjusts by the difference instead of resetting, so changes recorded meanwhile are not lost
+    private Map<OrderStatus, Long> correctTo(Map<OrderStatus, Long> database) {
+        Map<OrderStatus, Long> drift = new EnumMap<>(OrderStatus.class);
+        database.forEach((status, expected) -> {
+            LongAdder count = counts.get(status);
+            long difference = expected - count.sum();
+            if (difference != 0) {
+                count.add(difference);
+                drift.put(status, difference);
+            }
+        });
+        return drift;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (OrderStatus status : OrderStatus.values()) {
+            Gauge.builder("orders.status.count", counts.get(status), LongAdder::sum)
+                    .description("Orders currently in each status")
+                    .tag("status", status.name())
+                    .register(registry);
+            driftCounters.put(status, Counter.builder("orders.status.drift")
+                    .description("Orders the status counters were off by when reconciled with the database")
+                    .tag("status", status.name())
+                    .register(registry));
+        }
+    }
+
+    // Counters are absent until bound to a registry, e.g. in plain unit tests
+    private static void increment(Counter counter, long amount) {
+        if (counter != null) {
+            counter.increment(amount);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.ordermanagement.service;
+
+import com.example.ordermanagement.model.OrderStatus;
+
+import java.time.Duration;
+
+/**
+ * Outcome of one promotion run on this instance. {@code shards} counts the id-range shards it
+ * promoted; shards promoted by other instances are not included.
+ */
+public record PromotionResult(OrderStatus from, OrderStatus to, long rowsMoved, int chunks, int shards,
+                              Duration duration) {
+}
@@ -0,0 +1,118 @@
+package com.example.ordermanagement.service;
+
+import com.example.ordermanagement.repository.SchedulerLeaseRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * Leases in the {@code scheduler_lease} table that let scheduled work run on one instance at a
+ * time, however many instances share the database.
+ *
+ * <p>Each lease change is one conditional statement in its own transaction, committed before the
+ * leased work starts. A lease that is not renewed expires, so the work of an instance that died is
+ * taken over once its lease runs out. Expiry times come from each instance's clock, so instance
+ * clocks must agree to well within a lease duration.
+ */
+@Slf4j
+@Service
+public class SchedulerLeases {
+
+    @Autowired
+    private SchedulerLeaseRepository schedulerLeaseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Row locked while a lease is created; seeded by the V2 migration, or on start for schemas
+    // Hibernate creates
+    static final String REGISTRY = "scheduler-lease-registry";
+
+    private final String owner;
+
+    public SchedulerLeases(@Value("${orders.scheduler.instance-id:}") String instanceId) {
+        // pid@host alone is not unique when several application contexts share a JVM, as in tests
+        this.owner = instanceId.isBlank()
+                ? ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID().toString().substring(0, 8)
+                : instanceId;
+    }
+
+    @PostConstruct
+    void createRegistry() {
+        leaseTransaction().executeWithoutResult(status ->
+                schedulerLeaseRepository.insertLeaseIfAbsent(REGISTRY, "-", LocalDateTime.of(1970, 1, 1, 0, 0)));
+    }
+
+    /** Takes the lease {@code name} for {@code duration} if it is free, expired, or already ours. */
+    public boolean tryAcquire(String name, Duration duration) {
+        LocalDateTime now = now();
+        Integer updated = leaseTransaction().execute(
+                status -> schedulerLeaseRepository.acquireLease(name, owner, now, now.plus(duration)));
+        if (updated != null && updated == 1) {
+            return true;
+        }
+        // Checked first so a lease held elsewhere, the common case, does not take the registry lock
+        if (schedulerLeaseRepository.existsById(name)) {
+            return false;
+        }
+        Integer created = leaseTransaction().execute(status -> {
+            // Serializes creation: whoever waited here then finds the lease and inserts nothing
+            schedulerLeaseRepository.lockByName(REGISTRY);
+            return schedulerLeaseRepository.insertLeaseIfAbsent(name, owner, now.plus(duration));
+        });
+        return created != null && created == 1;
+    }
+
+    /** Extends a lease this instance holds; false if it has expired or been taken over. */
+    public boolean renew(String name, Duration duration) {
+        LocalDateTime now = now();
+        Integer updated = leaseTransaction().execute(
+                status -> schedulerLeaseRepository.renewLease(name, owner, now, now.plus(duration)));
+        if (updated == null || updated == 0) {
+            log.warn("Lost lease {}, leaving the rest of its work to the instance that took it over", name);
+            return false;
+        }
+        return true;
+    }
+
+    /** Gives a lease up, but keeps others from taking it before {@code notBefore}. */
+    public void release(String name, LocalDateTime notBefore) {
+        LocalDateTime now = now();
+        LocalDateTime until = notBefore.isAfter(now) ? notBefore.truncatedTo(ChronoUnit.MICROS) : now;
+        leaseTransaction().execute(status -> schedulerLeaseRepository.renewLease(name, owner, now, until));
+    }
+
+    /** Deletes the expired leases whose names start with {@code prefix}; returns how many. */
+    public int deleteExpired(String prefix) {
+        LocalDateTime now = now();
+        Integer deleted = leaseTransaction().execute(
+                status -> schedulerLeaseRepository.deleteExpiredLeases(prefix, now));
+        return deleted == null ? 0 : deleted;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    private TransactionTemplate leaseTransaction() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return transaction;
+    }
+
+    // Truncated to the column precision, so the times compared in SQL are the ones written
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+}
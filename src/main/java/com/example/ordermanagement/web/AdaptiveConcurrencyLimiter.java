@@ -0,0 +1,102 @@
+package com.example.ordermanagement.web;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Limit on concurrent requests that adapts to their latency: additive increase, multiplicative decrease.
+ *
+ * <p>A request that completes within {@code latencyThreshold} while at least half of the limit is
+ * in use raises the limit by one. A slower request lowers it to {@code backoffRatio} times its
+ * value. A queue building up anywhere behind the API, such as JDBC connections or H2 locks, thus
+ * shrinks the number of requests let in until latency recovers. The limit never leaves
+ * {@code [minLimit, maxLimit]}. Like TCP, the limit backs off at most once per round trip: only
+ * requests admitted after the last decrease can lower it again. Otherwise a burst of slow requests
+ * that all started under the old limit would collapse it to the minimum at once.
+ *
+ * <p>Admission is one compare-and-set on the in-flight count, with no lock and no queue. A request
+ * over the limit is turned away at once instead of waiting.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final LongSupplier clock;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger limit;
+    private final AtomicLong lastDecrease;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      Duration latencyThreshold, double backoffRatio) {
+        this(initialLimit, minLimit, maxLimit, latencyThreshold, backoffRatio, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                               Duration latencyThreshold, double backoffRatio, LongSupplier clock) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.clock = clock;
+        this.limit = new AtomicInteger(initialLimit);
+        this.lastDecrease = new AtomicLong(clock.getAsLong());
+    }
+
+    /** Admits a request if fewer than the limit are in flight; an admitted request must be released. */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a request admitted at {@code startNanos}, a value of {@link #now()}. With
+     * {@code sample} false, its latency does not move the limit, as for bulk endpoints whose
+     * duration depends on their size rather than on load.
+     */
+    public void release(long startNanos, boolean sample) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (!sample) {
+            return;
+        }
+        long end = clock.getAsLong();
+        if (end - startNanos > latencyThresholdNanos) {
+            long last = lastDecrease.get();
+            // Only a request admitted after the last decrease reflects the lowered limit
+            if (startNanos - last > 0 && lastDecrease.compareAndSet(last, end)) {
+                limit.updateAndGet(current -> Math.max(minLimit, (int) (current * backoffRatio)));
+            }
+        } else if (inFlightBefore * 2 >= limit.get()) {
+            limit.updateAndGet(current -> Math.min(maxLimit, current + 1));
+        }
+    }
+
+    public long now() {
+        return clock.getAsLong();
+    }
+
+    public int getLimit() {
+        return limit.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
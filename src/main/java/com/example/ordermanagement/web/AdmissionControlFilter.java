@@ -0,0 +1,102 @@
+package com.example.ordermanagement.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Admission control for the order API, in front of {@code OrderController} and after authentication.
+ *
+ * <p>Reads ({@code GET}, {@code HEAD}) and writes each have their own {@link AdaptiveConcurrencyLimiter}.
+ * Slow writes waiting on locks therefore do not shrink the limit for reads, and a flood of reads
+ * cannot crowd out writes. A request over its limit is answered {@code 503} with
+ * {@code Retry-After: 1} straight away instead of queueing for a request thread. Requests to
+ * {@code unsampledPaths} (bulk export and batch creation) count as in flight, but their latency
+ * does not adjust the limit.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter implements MeterBinder {
+
+    private final AdaptiveConcurrencyLimiter readLimiter;
+    private final AdaptiveConcurrencyLimiter writeLimiter;
+    private final Set<String> unsampledPaths;
+
+    private Counter readRejections;
+    private Counter writeRejections;
+
+    public AdmissionControlFilter(AdaptiveConcurrencyLimiter readLimiter, AdaptiveConcurrencyLimiter writeLimiter,
+                                  Set<String> unsampledPaths) {
+        this.readLimiter = readLimiter;
+        this.writeLimiter = writeLimiter;
+        this.unsampledPaths = Set.copyOf(unsampledPaths);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        boolean read = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+        AdaptiveConcurrencyLimiter limiter = read ? readLimiter : writeLimiter;
+
+        if (!limiter.tryAcquire()) {
+            increment(read ? readRejections : writeRejections);
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.getWriter().write("Server is busy, please retry");
+            return;
+        }
+
+        long start = limiter.now();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limiter.release(start, !unsampledPaths.contains(request.getRequestURI()));
+        }
+    }
+
+    AdaptiveConcurrencyLimiter getReadLimiter() {
+        return readLimiter;
+    }
+
+    AdaptiveConcurrencyLimiter getWriteLimiter() {
+        return writeLimiter;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        readRejections = bind(registry, "read", readLimiter);
+        writeRejections = bind(registry, "write", writeLimiter);
+    }
+
+    private static Counter bind(MeterRegistry registry, String type, AdaptiveConcurrencyLimiter limiter) {
+        Gauge.builder("orders.admission.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive limit on concurrent order API requests")
+                .tag("type", type)
+                .register(registry);
+        Gauge.builder("orders.admission.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Order API requests currently admitted")
+                .tag("type", type)
+                .register(registry);
+        return Counter.builder("orders.admission.rejected")
+                .description("Order API requests rejected with 503 because the limit was reached")
+                .tag("type", type)
+                .register(registry);
+    }
+
+    // Meters are absent until bound to a registry, e.g. in plain unit tests
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.ordermanagement.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Buffers order API responses so they are sent with a {@code Content-Length}.
+ *
+ * <p>Tomcat applies {@code server.compression.min-response-size} only to responses of known length.
+ * Jackson writes its output as it goes, so without this filter every response would be chunked and
+ * gzipped however small it is. The buffer holds a second copy of the body, so only responses of
+ * bounded size may pass through here: single orders, pages capped by {@code orders.page.max-size},
+ * status counts. Requests to {@code streamingPaths} are passed through unbuffered and are always
+ * compressed. That covers every response without a size bound: the export and batch results, which
+ * grow with the request body.
+ */
+public class ContentLengthFilter extends OncePerRequestFilter {
+
+    private final Set<String> streamingPaths;
+
+    public ContentLengthFilter(Set<String> streamingPaths) {
+        this.streamingPaths = Set.copyOf(streamingPaths);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return streamingPaths.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+        // Sets Content-Length before the first byte is written, while Tomcat can still decide on compression
+        wrapper.copyBodyToResponse();
+    }
+}
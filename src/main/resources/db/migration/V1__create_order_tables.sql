@@ -0,0 +1,32 @@
+-- Schema of the Order and OrderItem entities. Ids come from pooled sequences (allocationSize = 50).
+create sequence cust_order_seq start with 1 increment by 50;
+create sequence order_item_seq start with 1 increment by 50;
+
+create table cust_order (
+    id bigint not null,
+    customer_name varchar(255),
+    customer_email varchar(255),
+    status varchar(255) check (status in ('PENDING', 'PROCESSING', 'SHIPPED', 'DELIVERED', 'CANCELLED')),
+    version bigint,
+    created_at timestamp(6),
+    updated_at timestamp(6),
+    total_minor_units bigint not null,
+    currency varchar(3) not null,
+    primary key (id)
+);
+
+create table order_item (
+    id bigint not null,
+    order_id bigint not null,
+    product_name varchar(255),
+    quantity integer not null,
+    price_minor_units bigint not null,
+    price_currency varchar(3),
+    primary key (id),
+    constraint fk_order_item_order foreign key (order_id) references cust_order (id)
+);
+
+create index idx_cust_order_created_at_id on cust_order (created_at, id);
+create index idx_cust_order_status_created_at_id on cust_order (status, created_at, id);
+create index idx_cust_order_customer_email on cust_order (customer_email);
+create index idx_order_item_order_id on order_item (order_id);
@@ -0,0 +1,14 @@
+-- Sharded order promotion: leases that let one instance at a time work on a shard (SchedulerLease
+-- entity), and an index to walk the orders of one status through an id range in id order
+create table scheduler_lease (
+    name varchar(100) not null,
+    owner varchar(100) not null,
+    lease_until timestamp(6) not null,
+    primary key (name)
+);
+
+-- Locked while a lease is created, so instances creating the same lease at once do not collide
+-- on the primary key (SchedulerLeases.REGISTRY)
+insert into scheduler_lease (name, owner, lease_until) values ('scheduler-lease-registry', '-', timestamp '1970-01-01 00:00:00');
+
+create index idx_cust_order_status_id on cust_order (status, id);
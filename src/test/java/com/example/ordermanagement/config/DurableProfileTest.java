@@ -0,0 +1,106 @@
+package com.example.ordermanagement.config;
+
+import com.example.ordermanagement.model.Money;
+import com.example.ordermanagement.model.Order;
+import com.example.ordermanagement.model.OrderItem;
+import com.example.ordermanagement.service.DatabaseSnapshotService;
+import com.example.ordermanagement.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles({"durable", "test"})
+@DirtiesContext // closes the file database before the next test class
+class DurableProfileTest {
+
+    private static final Path DIRECTORY = Path.of("target", "durable-profile-test", UUID.randomUUID().toString());
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private DatabaseSnapshotService databaseSnapshotService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void storage(DynamicPropertyRegistry registry) {
+        registry.add("orders.storage.database", () -> "./" + DIRECTORY.resolve("orders"));
+        registry.add("orders.snapshot.file", () -> DIRECTORY.resolve("snapshot.mv.db").toString());
+        // Fails the context if the migrations do not produce the schema the entities expect
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+    }
+
+    @Test
+    void migrations_ShouldCreateSchemaInDatabaseFile() {
+        assertTrue(Files.exists(DIRECTORY.resolve("orders.mv.db")));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "select count(*) from \"flyway_schema_history\" where \"version\" = '1' and \"success\"", Integer.class));
+    }
+
+    @Test
+    void createOrder_ShouldBeStoredInDatabaseFile() {
+        Order saved = orderService.createOrder(order("Durable Customer"));
+
+        Order found = orderService.getOrderById(saved.getId());
+
+        assertEquals("Durable Customer", found.getCustomerName());
+        assertEquals(1, found.getItems().size());
+        assertEquals(0L, found.getVersion());
+    }
+
+    @Test
+    void snapshot_ShouldBeRestorableAsDatabase() throws Exception {
+        Long id = orderService.createOrder(order("Snapshot Customer")).getId();
+
+        Path snapshot = databaseSnapshotService.createSnapshot();
+        Path restored = DIRECTORY.resolve("restored").resolve("orders.mv.db");
+
+        assertTrue(DatabaseSnapshotService.restoreIfMissing(snapshot, restored));
+        String url = "jdbc:h2:file:" + restored.toAbsolutePath().toString().replace(".mv.db", "");
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("select customer_name from cust_order where id = " + id)) {
+            assertTrue(rs.next());
+            assertEquals("Snapshot Customer", rs.getString(1));
+        }
+    }
+
+    @Test
+    void restoreIfMissing_ShouldNeverOverwriteExistingDatabase() throws Exception {
+        Path snapshot = databaseSnapshotService.createSnapshot();
+        Path existing = DIRECTORY.resolve("existing.mv.db");
+        Files.writeString(existing, "live data");
+
+        assertFalse(DatabaseSnapshotService.restoreIfMissing(snapshot, existing));
+        assertFalse(DatabaseSnapshotService.restoreIfMissing(DIRECTORY.resolve("missing.mv.db"),
+                DIRECTORY.resolve("other.mv.db")));
+        assertEquals("live data", Files.readString(existing));
+        assertFalse(Files.exists(DIRECTORY.resolve("other.mv.db")));
+    }
+
+    private static Order order(String customerName) {
+        Order order = new Order();
+        order.setCustomerName(customerName);
+        order.setCustomerEmail("durable@example.com");
+        order.addItem(new OrderItem("Product", 2, Money.of("9.99")));
+        return order;
+    }
+}
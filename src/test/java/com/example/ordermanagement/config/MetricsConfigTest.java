@@ -0,0 +1,45 @@
+package com.example.ordermanagement.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "orders.journal.directory=target/metrics-test-journal")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Value("${api.key}")
+    private String apiKey;
+
+    @Test
+    void prometheusEndpoint_ShouldExposeOrderMetrics() throws Exception {
+        mockMvc.perform(get("/api/orders/424242").header("X-API-Key", apiKey))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/actuator/prometheus").header("X-API-Key", apiKey))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("orders_service_seconds{class=\"com.example.ordermanagement.service.OrderService\"")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds")))
+                .andExpect(content().string(containsString("orders_errors_total{exception=\"OrderNotFoundException\",status=\"404\",} 1.0")))
+                .andExpect(content().string(containsString("cache_gets_total{cache=\"orders\"")))
+                .andExpect(content().string(containsString("orders_promotion_last_rows")))
+                .andExpect(content().string(containsString("orders_promotion_last_duration_seconds")))
+                .andExpect(content().string(containsString("orders_journal_durable_sequence")))
+                .andExpect(content().string(containsString("api_keys")))
+                .andExpect(content().string(containsString("orders_admission_limit{type=\"read\",}")));
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.ordermanagement.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "orders.journal.directory=target/metrics-test-journal")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class SecurityConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Value("${api.key}")
+    private String apiKey;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/orders", "/actuator/metrics", "/actuator/prometheus", "/h2-console", "/h2-console/login.jsp"})
+    void protectedPath_WithoutKey_ShouldReturn401(String path) throws Exception {
+        mockMvc.perform(get(path))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void metrics_WithKey_ShouldBeServed() throws Exception {
+        mockMvc.perform(get("/actuator/metrics").header("X-API-Key", apiKey))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void health_WithoutKey_ShouldBePublic() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.ordermanagement.config;
+
+import com.example.ordermanagement.model.Money;
+import com.example.ordermanagement.model.Order;
+import com.example.ordermanagement.model.OrderItem;
+import com.example.ordermanagement.service.OrderService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Compression is done by Tomcat, so this runs a real server and reads the raw bytes with a client
+// that, unlike most, does not decompress
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "orders.journal.directory=target/wire-format-test-journal")
+class WireFormatConfigTest {
+
+    private static final int ORDERS = 30;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${api.key}")
+    private String apiKey;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private String email;
+    private Long firstOrderId;
+
+    @BeforeEach
+    void setUp() {
+        email = UUID.randomUUID() + "@example.com";
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order();
+            order.setCustomerName("Wire Customer " + i);
+            order.setCustomerEmail(email);
+            order.addItem(new OrderItem("Product A" + i, 1, Money.of("19.99")));
+            order.addItem(new OrderItem("Product B" + i, 2, Money.of("5.00")));
+            Long id = orderService.createOrder(order).getId();
+            if (firstOrderId == null) {
+                firstOrderId = id;
+            }
+        }
+    }
+
+    @Test
+    void customerOrdersPage_ShouldBeGzipped() throws Exception {
+        HttpResponse<byte[]> response = get("/api/orders/customer?email=" + email, "application/json", true);
+
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+        JsonNode page = objectMapper.readTree(gunzip(response.body()));
+        assertEquals(ORDERS, page.get("content").size());
+        assertFalse(page.get("hasNext").asBoolean());
+    }
+
+    @Test
+    void customerOrdersPage_ShouldStopAtPageSize() throws Exception {
+        HttpResponse<byte[]> response = get("/api/orders/customer?size=10&email=" + email, "application/json", false);
+
+        assertEquals(200, response.statusCode());
+        JsonNode page = objectMapper.readTree(response.body());
+        assertEquals(10, page.get("content").size());
+        assertEquals(firstOrderId, page.get("content").get(0).get("id").asLong());
+        assertTrue(page.get("hasNext").asBoolean());
+    }
+
+    @Test
+    void smallResponse_ShouldNotBeGzipped() throws Exception {
+        HttpResponse<byte[]> response = get("/api/orders/" + firstOrderId, "application/json", true);
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Encoding").isEmpty());
+        assertEquals(response.body().length, response.headers().firstValueAsLong("Content-Length").orElse(-1));
+        assertEquals("Wire Customer 0", objectMapper.readTree(response.body()).get("customerName").asText());
+    }
+
+    @Test
+    void responseWithoutAccept_ShouldBeJson() throws Exception {
+        HttpResponse<byte[]> response = get("/api/orders/" + firstOrderId, null, false);
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.headers().firstValue("Content-Type").orElseThrow().startsWith("application/json"));
+    }
+
+    @Test
+    void smileAccepted_ShouldReturnSameOrderAsSmile() throws Exception {
+        HttpResponse<byte[]> response = get("/api/orders/" + firstOrderId, "application/x-jackson-smile", false);
+
+        assertEquals(200, response.statusCode());
+        assertEquals("application/x-jackson-smile", response.headers().firstValue("Content-Type").orElse(null));
+        assertTrue(response.headers().firstValue("ETag").orElseThrow().startsWith("W/"));
+        JsonNode order = objectMapper.copyWith(new SmileFactory()).readTree(response.body());
+        assertEquals(firstOrderId, order.get("id").asLong());
+        assertEquals(0, order.get("totalAmount").get("amount").decimalValue().compareTo(new BigDecimal("29.99")));
+    }
+
+    @Test
+    void cborExport_ShouldBeGzippedCborSequence() throws Exception {
+        HttpResponse<byte[]> response = get("/api/orders/export", "application/cbor-seq", true);
+
+        assertEquals(200, response.statusCode());
+        assertEquals("application/cbor-seq", response.headers().firstValue("Content-Type").orElse(null));
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+        List<JsonNode> orders = objectMapper.copyWith(new CBORFactory())
+                .readerFor(JsonNode.class).<JsonNode>readValues(gunzip(response.body())).readAll();
+        assertTrue(orders.stream().filter(order -> email.equals(order.get("customerEmail").asText())).count() >= ORDERS);
+    }
+
+    private HttpResponse<byte[]> get(String path, String accept, boolean gzip) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("X-API-Key", apiKey);
+        if (accept != null) {
+            request.header("Accept", accept);
+        }
+        if (gzip) {
+            request.header("Accept-Encoding", "gzip");
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static byte[] gunzip(byte[] body) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return in.readAllBytes();
+        }
+    }
+}
@@ -1,9 +1,22 @@
 package com.example.ordermanagement.controller;
 
+import com.example.ordermanagement.dto.BatchOrderResponse;
+import com.example.ordermanagement.dto.BatchOrderResult;
+import com.example.ordermanagement.dto.CursorPage;
+import com.example.ordermanagement.dto.IntakeStatus;
+import com.example.ordermanagement.dto.OrderSummary;
+import com.example.ordermanagement.dto.OrderVersion;
+import com.example.ordermanagement.exception.BadRequestException;
+import com.example.ordermanagement.exception.IntakeRejectedException;
 import com.example.ordermanagement.exception.OrderNotFoundException;
+import com.example.ordermanagement.model.Money;
 import com.example.ordermanagement.model.Order;
 import com.example.ordermanagement.model.OrderItem;
 import com.example.ordermanagement.model.OrderStatus;
+import com.example.ordermanagement.service.ExportFormat;
+import com.example.ordermanagement.service.OrderBatchService;
+import com.example.ordermanagement.service.OrderExportService;
+import com.example.ordermanagement.service.OrderIntakeService;
 import com.example.ordermanagement.service.OrderService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeAll;
@@ -19,10 +32,17 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
-import java.util.Arrays;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
+import static org.hamcrest.Matchers.hasItem;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
@@ -39,6 +59,15 @@ class OrderControllerTest {
     @MockBean
     private OrderService orderService;
 
+    @MockBean
+    private OrderExportService orderExportService;
+
+    @MockBean
+    private OrderBatchService orderBatchService;
+
+    @MockBean
+    private OrderIntakeService orderIntakeService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -61,7 +90,7 @@ class OrderControllerTest {
         testOrderItem.setId(1L);
         testOrderItem.setProductName("Test Product");
         testOrderItem.setQuantity(2);
-        testOrderItem.setPrice(10.0);
+        testOrderItem.setPrice(Money.of("10.00"));
 
         testOrder = new Order();
         testOrder.setId(1L);
@@ -100,6 +129,69 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$.status").value(testOrder.getStatus().toString()));
     }
 
+    @WithMockUser("spring")
+    @Test
+    void createOrder_WithAsyncIntake_ShouldReturn202WithIntakeId() throws Exception {
+        when(orderIntakeService.isEnabled()).thenReturn(true);
+        when(orderIntakeService.submit(any(Order.class))).thenReturn(IntakeStatus.queued("abc"));
+
+        mockMvc.perform(post("/api/orders")
+                .with(csrf().asHeader())
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(objectMapper.writeValueAsString(testOrder)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/orders/intake/abc"))
+                .andExpect(jsonPath("$.intakeId").value("abc"))
+                .andExpect(jsonPath("$.state").value("QUEUED"));
+        verify(orderService, never()).createOrder(any(Order.class));
+    }
+
+    @WithMockUser("spring")
+    @Test
+    void createOrder_WhenIntakeQueueIsFull_ShouldReturn429() throws Exception {
+        when(orderIntakeService.isEnabled()).thenReturn(true);
+        when(orderIntakeService.submit(any(Order.class))).thenThrow(new IntakeRejectedException("Order intake queue is full, retry later"));
+
+        mockMvc.perform(post("/api/orders")
+                .with(csrf().asHeader())
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(objectMapper.writeValueAsString(testOrder)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.message").value("Order intake queue is full, retry later"));
+    }
+
+    @WithMockUser("spring")
+    @Test
+    void getIntakeStatus_ShouldReturnOutcome() throws Exception {
+        when(orderIntakeService.getStatus("abc")).thenReturn(IntakeStatus.persisted("abc", 42L));
+
+        mockMvc.perform(get("/api/orders/intake/abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("PERSISTED"))
+                .andExpect(jsonPath("$.orderId").value(42));
+    }
+
+    @WithMockUser("spring")
+    @Test
+    void createOrders_ShouldReturnPerOrderResults() throws Exception {
+        BatchOrderResponse response = BatchOrderResponse.of(List.of(
+                BatchOrderResult.created(0, 10L),
+                BatchOrderResult.failed(1, "customerName is required")));
+        when(orderBatchService.createOrders(any(InputStream.class))).thenReturn(response);
+
+        mockMvc.perform(post("/api/orders/batch")
+                .with(csrf().asHeader())
+                .contentType("application/x-ndjson")
+                .content("{}\n{}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(2))
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].orderId").value(10))
+                .andExpect(jsonPath("$.results[1].error").value("customerName is required"));
+    }
+
     @WithMockUser("spring")
     @Test
     void getOrderById_WhenOrderExists_ShouldReturnOrder() throws Exception {
@@ -118,32 +210,239 @@ class OrderControllerTest {
         when(orderService.getOrderById(1L)).thenThrow(new OrderNotFoundException("Order not found"));
 
         mockMvc.perform(get("/api/orders/1"))
-                .andExpect(status().isNotFound());
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.timestamp").exists())
+                .andExpect(jsonPath("$.message").value("Order not found"))
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.error").value("Not Found"));
+    }
+
+    @WithMockUser("spring")
+    @Test
+    void getOrderById_ShouldReturnVersionETag() throws Exception {
+        testOrder.setVersion(3L);
+        when(orderService.getOrderById(1L)).thenReturn(testOrder);
+
+        mockMvc.perform(get("/api/orders/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"1-3\""))
+                .andExpect(header().stringValues("Vary", hasItem("Accept")));
+        verify(orderService, never()).getOrderVersion(any());
     }
 
     @WithMockUser("spring")
     @Test
-    void getAllOrders_ShouldReturnListOfOrders() throws Exception {
-        List<Order> orders = Arrays.asList(testOrder);
-        when(orderService.getAllOrders()).thenReturn(orders);
+    void getOrderById_WhenETagMatches_ShouldReturn304WithoutLoadingOrder() throws Exception {
+        when(orderService.getOrderVersion(1L)).thenReturn(3L);
+
+        mockMvc.perform(get("/api/orders/1").header("If-None-Match", "\"1-3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "W/\"1-3\""))
+                .andExpect(content().string(""));
+        verify(orderService, never()).getOrderById(any());
+    }
+
+    @WithMockUser("spring")
+    @Test
+    void getOrderById_WhenETagIsStale_ShouldReturnOrder() throws Exception {
+        testOrder.setVersion(4L);
+        when(orderService.getOrderVersion(1L)).thenReturn(4L);
+        when(orderService.getOrderById(1L)).thenReturn(testOrder);
+
+        mockMvc.perform(get("/api/orders/1").header("If-None-Match", "\"1-3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "W/\"1-4\""))
+                .andExpect(jsonPath("$.version").value(4));
+    }
+
+    @WithMockUser("spring")
+    @Test
+    void getAllOrders_WhenPageUnchanged_ShouldReturn304WithoutLoadingOrders() throws Exception {
+        testOrder.setVersion(2L);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 9, 0);
+        when(orderService.getOrders(OrderStatus.PENDING, null, 10))
+                .thenReturn(new CursorPage<>(List.of(testOrder), 1, "next"));
+        when(orderService.getOrderVersions(OrderStatus.PENDING, null, 10))
+                .thenReturn(new CursorPage<>(List.of(new OrderVersion(1L, 2L, createdAt)), 1, "next"));
+        String etag = mockMvc.perform(get("/api/orders").param("status", "PENDING").param("size", "10"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/orders").param("status", "PENDING").param("size", "10")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        verify(orderService, times(1)).getOrders(OrderStatus.PENDING, null, 10);
+    }
+
+    @WithMockUser("spring")
+    @Test
+    void getAllOrders_WhenOrderOnPageChanged_ShouldReturnPage() throws Exception {
+        testOrder.setVersion(2L);
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 9, 0);
+        when(orderService.getOrders(null, null, null)).thenReturn(new CursorPage<>(List.of(testOrder), 1, null));
+        when(orderService.getOrderVersions(null, null, null))
+                .thenReturn(new CursorPage<>(List.of(new OrderVersion(1L, 3L, createdAt)), 1, null));
+        String etag = mockMvc.perform(get("/api/orders"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/orders").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1));
+    }
+
+    @WithMockUser("spring")
+    @Test
+    void getOrderSummaries_WhenPageUnchanged_ShouldReturn304() throws Exception {
+        OrderSummary summary = new OrderSummary(1L, "Test Customer", "test@example.com", OrderStatus.PENDING,
+                5L, null, null, 2000L, Money.DEFAULT_CURRENCY);
+        when(orderService.getOrderSummaries(null, null, null)).thenReturn(new CursorPage<>(List.of(summary), 1, null));
+        String etag = mockMvc.perform(get("/api/orders/summary"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/orders/summary").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @WithMockUser("spring")
+    @Test
+    void getOrderSummaries_ShouldReturnSummaryPage() throws Exception {
+        OrderSummary summary = new OrderSummary(1L, "Test Customer", "test@example.com", OrderStatus.PENDING,
+                0L, null, null, 2000L, Money.DEFAULT_CURRENCY);
+        when(orderService.getOrderSummaries(OrderStatus.PENDING, "token", 10))
+                .thenReturn(new CursorPage<>(List.of(summary), 1, null));
+
+        mockMvc.perform(get("/api/orders/summary")
+                        .param("status", "PENDING")
+                        .param("cursor", "token")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(1))
+                .andExpect(jsonPath("$.content[0].totalAmount.amount").value(20.0))
+                .andExpect(jsonPath("$.content[0].totalAmount.currency").value("USD"))
+                .andExpect(jsonPath("$.content[0].items").doesNotExist())
+                .andExpect(jsonPath("$.content[0].totalMinorUnits").doesNotExist())
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @WithMockUser("spring")
+    @Test
+    void getStatusCounts_ShouldReturnCountPerStatus() throws Exception {
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        counts.put(OrderStatus.PENDING, 3L);
+        counts.put(OrderStatus.SHIPPED, 0L);
+        when(orderService.getStatusCounts()).thenReturn(counts);
+
+        mockMvc.perform(get("/api/orders/status-counts"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.PENDING").value(3))
+                .andExpect(jsonPath("$.SHIPPED").value(0));
+        verify(orderService, never()).getOrders(any(), any(), any());
+    }
+
+    @WithMockUser("spring")
+    @Test
+    void getOrdersByCustomerEmail_ShouldReturnPageOfCustomerOrders() throws Exception {
+        CursorPage<Order> page = new CursorPage<>(List.of(testOrder), 1, "next-token");
+        when(orderService.getOrdersByCustomerEmail("test@example.com", "abc", 10)).thenReturn(page);
+
+        mockMvc.perform(get("/api/orders/customer").param("email", "test@example.com")
+                        .param("cursor", "abc").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.content[0].id").value(testOrder.getId()))
+                .andExpect(jsonPath("$.content[0].customerEmail").value(testOrder.getCustomerEmail()))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"));
+    }
+
+    @WithMockUser("spring")
+    @Test
+    void getAllOrders_ShouldReturnFirstPageOfOrders() throws Exception {
+        CursorPage<Order> page = new CursorPage<>(List.of(testOrder), 1, "next-token");
+        when(orderService.getOrders(null, null, null)).thenReturn(page);
 
         mockMvc.perform(get("/api/orders"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(testOrder.getId()))
-                .andExpect(jsonPath("$[0].customerName").value(testOrder.getCustomerName()))
-                .andExpect(jsonPath("$[0].status").value(testOrder.getStatus().toString()));
+                .andExpect(jsonPath("$.content[0].id").value(testOrder.getId()))
+                .andExpect(jsonPath("$.content[0].customerName").value(testOrder.getCustomerName()))
+                .andExpect(jsonPath("$.content[0].status").value(testOrder.getStatus().toString()))
+                .andExpect(jsonPath("$.size").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+    @WithMockUser("spring")
+    @Test
+    void getAllOrders_WithCursorAndSize_ShouldPassThemToService() throws Exception {
+        CursorPage<Order> page = new CursorPage<>(List.of(testOrder), 1, null);
+        when(orderService.getOrders(null, "abc", 10)).thenReturn(page);
+
+        mockMvc.perform(get("/api/orders?cursor=abc&size=10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(testOrder.getId()))
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @WithMockUser("spring")
+    @Test
+    void getAllOrders_WithInvalidCursor_ShouldReturn400() throws Exception {
+        when(orderService.getOrders(null, "bad", null)).thenThrow(new BadRequestException("Invalid cursor: bad"));
+
+        mockMvc.perform(get("/api/orders?cursor=bad"))
+                .andExpect(status().isBadRequest());
     }
 
     @WithMockUser("spring")
     @Test
     void getOrdersByStatus_ShouldReturnFilteredOrders() throws Exception {
-        List<Order> orders = Arrays.asList(testOrder);
-        when(orderService.getOrdersByStatus(OrderStatus.PENDING)).thenReturn(orders);
+        CursorPage<Order> page = new CursorPage<>(List.of(testOrder), 1, null);
+        when(orderService.getOrders(OrderStatus.PENDING, null, null)).thenReturn(page);
 
         mockMvc.perform(get("/api/orders?status=PENDING"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(testOrder.getId()))
-                .andExpect(jsonPath("$[0].status").value(OrderStatus.PENDING.toString()));
+                .andExpect(jsonPath("$.content[0].id").value(testOrder.getId()))
+                .andExpect(jsonPath("$.content[0].status").value(OrderStatus.PENDING.toString()));
+    }
+
+    @WithMockUser("spring")
+    @Test
+    void exportOrders_ShouldStreamNdjsonWithFilters() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 2, 1, 0, 0);
+        when(orderExportService.exportOrders(eq(OrderStatus.SHIPPED), eq(from), eq(to), eq(ExportFormat.NDJSON),
+                any(OutputStream.class)))
+                .thenAnswer(invocation -> {
+                    OutputStream out = invocation.getArgument(4);
+                    out.write("{\"id\":1}\n{\"id\":2}\n".getBytes());
+                    return 2L;
+                });
+
+        mockMvc.perform(get("/api/orders/export?status=SHIPPED&from=2024-01-01T00:00:00&to=2024-02-01T00:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+
+    @WithMockUser("spring")
+    @Test
+    void exportOrders_WhenSmileAccepted_ShouldExportSmile() throws Exception {
+        when(orderExportService.exportOrders(isNull(), isNull(), isNull(), eq(ExportFormat.SMILE), any(OutputStream.class)))
+                .thenReturn(0L);
+
+        mockMvc.perform(get("/api/orders/export").header("Accept", "application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andExpect(header().stringValues("Vary", hasItem("Accept")));
+    }
+
+    @WithMockUser("spring")
+    @Test
+    void exportOrders_WithInvalidRange_ShouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/orders/export?from=2024-02-01T00:00:00&to=2024-01-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(orderExportService);
     }
 
     @WithMockUser("spring")
@@ -1,12 +1,12 @@
 package com.example.ordermanagement.exception;
 
+import com.example.ordermanagement.dto.ApiError;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
-import java.time.LocalDateTime;
-import java.util.Map;
-
 import static org.junit.jupiter.api.Assertions.*;
 
 class GlobalExceptionHandlerTest {
@@ -17,68 +17,104 @@ class GlobalExceptionHandlerTest {
     void handleOrderNotFoundException_ShouldReturnNotFoundResponse() {
         Long orderId = 123L;
         OrderNotFoundException ex = new OrderNotFoundException(orderId);
-        ResponseEntity<Map<String, Object>> response = handler.handleOrderNotFoundException(ex);
+        ResponseEntity<ApiError> response = handler.handleOrderNotFoundException(ex);
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
-        Map<String, Object> body = response.getBody();
+        ApiError body = response.getBody();
         assertNotNull(body);
-        assertEquals("Order not found with id: " + orderId, body.get("message"));
-        assertEquals(HttpStatus.NOT_FOUND.value(), body.get("status"));
-        assertEquals("Not Found", body.get("error"));
-        assertNotNull(body.get("timestamp"));
-        assertTrue(body.get("timestamp") instanceof LocalDateTime);
+        assertEquals("Order not found with id: " + orderId, body.getMessage());
+        assertEquals(HttpStatus.NOT_FOUND.value(), body.getStatus());
+        assertEquals("Not Found", body.getError());
+        assertNotNull(body.getTimestamp());
     }
 
     @Test
     void handleIllegalStateException_ShouldReturnBadRequestResponse() {
         String message = "Only PENDING orders can be cancelled";
         IllegalStateException ex = new IllegalStateException(message, null);
-        ResponseEntity<Map<String, Object>> response = handler.handleIllegalStateException(ex);
+        ResponseEntity<ApiError> response = handler.handleIllegalStateException(ex);
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
-        Map<String, Object> body = response.getBody();
+        ApiError body = response.getBody();
         assertNotNull(body);
-        assertEquals(message, body.get("message"));
-        assertEquals(HttpStatus.BAD_REQUEST.value(), body.get("status"));
-        assertEquals("Bad Request", body.get("error"));
-        assertNotNull(body.get("timestamp"));
-        assertTrue(body.get("timestamp") instanceof LocalDateTime);
+        assertEquals(message, body.getMessage());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), body.getStatus());
+        assertEquals("Bad Request", body.getError());
+        assertNotNull(body.getTimestamp());
+    }
+
+    @Test
+    void handleConcurrencyFailureException_ShouldReturnConflictResponse() {
+        ResponseEntity<ApiError> response = handler.handleConcurrencyFailureException(
+                new OptimisticLockingFailureException("Order 1 was modified concurrently"));
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        ApiError body = response.getBody();
+        assertNotNull(body);
+        assertEquals(HttpStatus.CONFLICT.value(), body.getStatus());
+        assertEquals("Conflict", body.getError());
+    }
+
+    @Test
+    void handleBadRequestException_ShouldReturnBadRequestResponse() {
+        BadRequestException ex = new BadRequestException("Invalid cursor: abc");
+        ResponseEntity<ApiError> response = handler.handleBadRequestException(ex);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        ApiError body = response.getBody();
+        assertNotNull(body);
+        assertEquals("Invalid cursor: abc", body.getMessage());
+        assertEquals(HttpStatus.BAD_REQUEST.value(), body.getStatus());
+        assertEquals("Bad Request", body.getError());
     }
 
     @Test
     void handleGenericException_ShouldReturnInternalServerErrorResponse() {
         Exception ex = new RuntimeException("Unexpected error");
-        ResponseEntity<Map<String, Object>> response = handler.handleGenericException(ex);
+        ResponseEntity<ApiError> response = handler.handleGenericException(ex);
 
         assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
-        Map<String, Object> body = response.getBody();
+        ApiError body = response.getBody();
         assertNotNull(body);
-        assertEquals("An unexpected error occurred", body.get("message"));
-        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), body.get("status"));
-        assertEquals("Internal Server Error", body.get("error"));
-        assertNotNull(body.get("timestamp"));
-        assertTrue(body.get("timestamp") instanceof LocalDateTime);
+        assertEquals("An unexpected error occurred", body.getMessage());
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR.value(), body.getStatus());
+        assertEquals("Internal Server Error", body.getError());
+        assertNotNull(body.getTimestamp());
+    }
+
+    @Test
+    void handlers_WhenBoundToRegistry_ShouldCountErrorsByException() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        handler.bindTo(registry);
+
+        handler.handleOrderNotFoundException(new OrderNotFoundException(1L));
+        handler.handleOrderNotFoundException(new OrderNotFoundException(2L));
+        handler.handleIllegalStateException(new IllegalStateException("conflict"));
+
+        assertEquals(2.0, registry.get("orders.errors").tag("exception", "OrderNotFoundException").counter().count());
+        assertEquals(1.0, registry.get("orders.errors").tag("exception", "IllegalStateException").counter().count());
+        assertEquals(0.0, registry.get("orders.errors").tag("exception", "Exception").counter().count());
     }
 
     @Test
     void handleOrderNotFoundException_WithNullMessage_ShouldHandleNull() {
         OrderNotFoundException ex = new OrderNotFoundException((String) null);
-        ResponseEntity<Map<String, Object>> response = handler.handleOrderNotFoundException(ex);
+        ResponseEntity<ApiError> response = handler.handleOrderNotFoundException(ex);
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
-        Map<String, Object> body = response.getBody();
+        ApiError body = response.getBody();
         assertNotNull(body);
-        assertNull(body.get("message"));
+        assertNull(body.getMessage());
     }
 
     @Test
     void handleIllegalStateException_WithNullMessage_ShouldHandleNull() {
         IllegalStateException ex = new IllegalStateException((String) null, null);
-        ResponseEntity<Map<String, Object>> response = handler.handleIllegalStateException(ex);
+        ResponseEntity<ApiError> response = handler.handleIllegalStateException(ex);
 
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
-        Map<String, Object> body = response.getBody();
+        ApiError body = response.getBody();
         assertNotNull(body);
-        assertNull(body.get("message"));
+        assertNull(body.getMessage());
     }
 } 
\ No newline at end of file
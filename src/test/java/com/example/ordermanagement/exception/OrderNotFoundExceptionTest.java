@@ -52,4 +52,20 @@ class OrderNotFoundExceptionTest {
         assertNull(exception.getMessage());
         assertEquals(cause, exception.getCause());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void constructor_WithOrderId_ShouldReportSameMessageEverywhere() {
+        OrderNotFoundException exception = new OrderNotFoundException(123L);
+        assertEquals(exception.getMessage(), exception.getLocalizedMessage());
+        assertEquals("com.example.ordermanagement.exception.OrderNotFoundException: Order not found with id: 123",
+                exception.toString());
+    }
+
+    @Test
+    void constructor_ShouldNotCaptureStackTrace() {
+        OrderNotFoundException exception = new OrderNotFoundException(123L);
+        exception.addSuppressed(new RuntimeException("ignored"));
+        assertEquals(0, exception.getStackTrace().length);
+        assertEquals(0, exception.getSuppressed().length);
+    }
+}
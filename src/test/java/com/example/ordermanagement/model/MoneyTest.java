@@ -0,0 +1,63 @@
+package com.example.ordermanagement.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final Currency JPY = Currency.getInstance("JPY");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void of_ShouldStoreMinorUnitsForCurrencyScale() {
+        assertEquals(999L, Money.of("9.99").getMinorUnits());
+        assertEquals(1000L, Money.of("10").getMinorUnits());
+        assertEquals(1500L, Money.of(new BigDecimal("1500"), JPY).getMinorUnits());
+        assertEquals(new BigDecimal("10.00"), Money.of("10").getAmount());
+    }
+
+    @Test
+    void of_WithMoreDecimalsThanCurrency_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> Money.of("9.999"));
+        assertThrows(IllegalArgumentException.class, () -> Money.of(new BigDecimal("1.5"), JPY));
+    }
+
+    @Test
+    void plus_ShouldBeExactWhereDoublesDrift() {
+        Money total = Money.zero(Money.DEFAULT_CURRENCY);
+        for (int i = 0; i < 10; i++) {
+            total = total.plus(Money.of("0.10"));
+        }
+
+        assertEquals(Money.of("1.00"), total);
+    }
+
+    @Test
+    void plus_WithDifferentCurrency_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> Money.of("1.00").plus(Money.of(BigDecimal.ONE, EUR)));
+    }
+
+    @Test
+    void times_ShouldMultiplyMinorUnits() {
+        assertEquals(Money.of("29.97"), Money.of("9.99").times(3));
+    }
+
+    @Test
+    void json_ShouldWriteAmountAndCurrency() throws Exception {
+        assertEquals("{\"amount\":9.99,\"currency\":\"USD\"}", objectMapper.writeValueAsString(Money.of("9.99")));
+    }
+
+    @Test
+    void json_ShouldReadObjectOrBareNumber() throws Exception {
+        assertEquals(Money.of(new BigDecimal("12.50"), EUR),
+                objectMapper.readValue("{\"amount\":12.5,\"currency\":\"EUR\"}", Money.class));
+        assertEquals(Money.of("999.99"), objectMapper.readValue("999.99", Money.class));
+    }
+}
@@ -21,13 +21,13 @@ class OrderItemTest {
         orderItem.setId(1L);
         orderItem.setProductName("Test Product");
         orderItem.setQuantity(2);
-        orderItem.setPrice(10.0);
+        orderItem.setPrice(Money.of("10.00"));
         orderItem.setOrder(order);
 
         assertEquals(1L, orderItem.getId());
         assertEquals("Test Product", orderItem.getProductName());
         assertEquals(2, orderItem.getQuantity());
-        assertEquals(10.0, orderItem.getPrice());
+        assertEquals(Money.of("10.00"), orderItem.getPrice());
         assertEquals(order, orderItem.getOrder());
     }
 
@@ -47,22 +47,30 @@ class OrderItemTest {
     @Test
     void getSubtotal_ShouldCalculateCorrectAmount() {
         orderItem.setQuantity(3);
-        orderItem.setPrice(10.0);
-        assertEquals(30.0, orderItem.getSubtotal());
+        orderItem.setPrice(Money.of("10.00"));
+        assertEquals(Money.of("30.00"), orderItem.getSubtotal());
+        assertEquals(3000L, orderItem.getSubtotalMinorUnits());
     }
 
     @Test
     void getSubtotal_WithZeroQuantity_ShouldReturnZero() {
         orderItem.setQuantity(0);
-        orderItem.setPrice(10.0);
-        assertEquals(0.0, orderItem.getSubtotal());
+        orderItem.setPrice(Money.of("10.00"));
+        assertEquals(Money.of("0.00"), orderItem.getSubtotal());
     }
 
     @Test
     void getSubtotal_WithZeroPrice_ShouldReturnZero() {
         orderItem.setQuantity(3);
-        orderItem.setPrice(0.0);
-        assertEquals(0.0, orderItem.getSubtotal());
+        orderItem.setPrice(Money.of("0.00"));
+        assertEquals(Money.of("0.00"), orderItem.getSubtotal());
+    }
+
+    @Test
+    void getSubtotal_WithoutPrice_ShouldReturnNull() {
+        orderItem.setQuantity(3);
+        assertNull(orderItem.getSubtotal());
+        assertEquals(0L, orderItem.getSubtotalMinorUnits());
     }
 
     @Test
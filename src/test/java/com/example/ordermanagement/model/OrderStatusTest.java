@@ -2,6 +2,8 @@ package com.example.ordermanagement.model;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class OrderStatusTest {
@@ -48,4 +50,33 @@ class OrderStatusTest {
         assertEquals(3, OrderStatus.DELIVERED.ordinal());
         assertEquals(4, OrderStatus.CANCELLED.ordinal());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void canTransitionTo_ShouldFollowOrderLifecycle() {
+        assertTrue(OrderStatus.PENDING.canTransitionTo(OrderStatus.PROCESSING));
+        assertTrue(OrderStatus.PENDING.canTransitionTo(OrderStatus.CANCELLED));
+        assertTrue(OrderStatus.PROCESSING.canTransitionTo(OrderStatus.SHIPPED));
+        assertTrue(OrderStatus.SHIPPED.canTransitionTo(OrderStatus.DELIVERED));
+        assertFalse(OrderStatus.PENDING.canTransitionTo(OrderStatus.PENDING));
+        assertFalse(OrderStatus.PROCESSING.canTransitionTo(OrderStatus.CANCELLED));
+        assertFalse(OrderStatus.SHIPPED.canTransitionTo(OrderStatus.PROCESSING));
+    }
+
+    @Test
+    void canTransitionTo_FromFinalStatus_ShouldBeRejected() {
+        for (OrderStatus target : OrderStatus.values()) {
+            assertFalse(OrderStatus.DELIVERED.canTransitionTo(target));
+            assertFalse(OrderStatus.CANCELLED.canTransitionTo(target));
+        }
+    }
+
+    @Test
+    void getSources_ShouldInvertTransitionTable() {
+        assertEquals(Set.of(), OrderStatus.PENDING.getSources());
+        assertEquals(Set.of(OrderStatus.PENDING), OrderStatus.PROCESSING.getSources());
+        assertEquals(Set.of(OrderStatus.PROCESSING), OrderStatus.SHIPPED.getSources());
+        assertEquals(Set.of(OrderStatus.SHIPPED), OrderStatus.DELIVERED.getSources());
+        assertEquals(Set.of(OrderStatus.PENDING), OrderStatus.CANCELLED.getSources());
+        assertThrows(UnsupportedOperationException.class, () -> OrderStatus.CANCELLED.getSources().clear());
+    }
+}
@@ -3,8 +3,10 @@ package com.example.ordermanagement.model;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Currency;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -20,7 +22,7 @@ class OrderTest {
         orderItem = new OrderItem();
         orderItem.setProductName("Test Product");
         orderItem.setQuantity(2);
-        orderItem.setPrice(10.0);
+        orderItem.setPrice(Money.of("10.00"));
     }
 
     @Test
@@ -46,17 +48,48 @@ class OrderTest {
         OrderItem secondItem = new OrderItem();
         secondItem.setProductName("Second Product");
         secondItem.setQuantity(3);
-        secondItem.setPrice(5.0);
+        secondItem.setPrice(Money.of("5.00"));
         order.addItem(secondItem);
 
-        double expectedTotal = (orderItem.getPrice() * orderItem.getQuantity()) +
-                             (secondItem.getPrice() * secondItem.getQuantity());
+        Money expectedTotal = orderItem.getPrice().times(orderItem.getQuantity())
+                .plus(secondItem.getPrice().times(secondItem.getQuantity()));
         assertEquals(expectedTotal, order.getTotalAmount());
     }
 
     @Test
     void getTotalAmount_WithEmptyItems_ShouldReturnZero() {
-        assertEquals(0.0, order.getTotalAmount());
+        assertEquals(Money.of("0.00"), order.getTotalAmount());
+    }
+
+    @Test
+    void removeItem_ShouldSubtractFromTotalAmount() {
+        order.addItem(orderItem);
+        OrderItem secondItem = new OrderItem("Second Product", 3, Money.of("5.00"));
+        order.addItem(secondItem);
+
+        order.removeItem(orderItem);
+        order.removeItem(orderItem);
+
+        assertEquals(Money.of("15.00"), order.getTotalAmount());
+    }
+
+    @Test
+    void setItems_ShouldRecalculateTotalAmount() {
+        order.addItem(orderItem);
+
+        order.setItems(new ArrayList<>(List.of(new OrderItem("Other", 4, Money.of("2.50")))));
+
+        assertEquals(Money.of("10.00"), order.getTotalAmount());
+    }
+
+    @Test
+    void addItem_ShouldTakeCurrencyFromFirstItemAndRejectOthers() {
+        Currency eur = Currency.getInstance("EUR");
+        order.addItem(new OrderItem("Euro Product", 1, Money.of(BigDecimal.TEN, eur)));
+
+        assertEquals(eur, order.getCurrency());
+        assertThrows(IllegalArgumentException.class, () -> order.addItem(orderItem));
+        assertEquals(Money.of(BigDecimal.TEN, eur), order.getTotalAmount());
     }
 
     @Test
@@ -0,0 +1,97 @@
+package com.example.ordermanagement.repository;
+
+import com.example.ordermanagement.model.OrderStatus;
+import com.example.ordermanagement.service.SqlStatementCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs H2's EXPLAIN on the SQL Hibernate generates for the filtering queries and checks that the
+ * plan reads through the intended index instead of scanning the table.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.ordermanagement.service.SqlStatementCounter")
+class OrderIndexUsageTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 4, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2024, 4, 2, 0, 0);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        SqlStatementCounter.clear();
+    }
+
+    @Test
+    void statusAndTimeRange_ShouldUseStatusCreatedAtIndex() {
+        try (var orders = orderRepository.streamByStatusAndCreatedAtRange(OrderStatus.PENDING, FROM, TO)) {
+            orders.count();
+        }
+
+        String plan = explain(SqlStatementCounter.last("select"), "PENDING", FROM, TO);
+
+        assertTrue(plan.contains("IDX_CUST_ORDER_STATUS_CREATED_AT_ID"), plan);
+        assertTrue(plan.contains("IDX_ORDER_ITEM_ORDER_ID"), plan);
+    }
+
+    @Test
+    void timeRange_ShouldUseCreatedAtIndex() {
+        try (var orders = orderRepository.streamByCreatedAtRange(FROM, TO)) {
+            orders.count();
+        }
+
+        String plan = explain(SqlStatementCounter.last("select"), FROM, TO);
+
+        assertTrue(plan.contains("IDX_CUST_ORDER_CREATED_AT_ID"), plan);
+        assertTrue(plan.contains("index sorted"), plan);
+    }
+
+    @Test
+    void keysetPageByStatus_ShouldUseStatusCreatedAtIndex() {
+        orderRepository.findPageIdsByStatusAfter(OrderStatus.PENDING, FROM, 1L, PageRequest.ofSize(50));
+
+        String plan = explain(SqlStatementCounter.last("select"), "PENDING", FROM, FROM, 1L, 0, 50);
+
+        assertTrue(plan.contains("IDX_CUST_ORDER_STATUS_CREATED_AT_ID"), plan);
+    }
+
+    @Test
+    void promotionShardScan_ShouldUseStatusIdIndexInIdOrder() {
+        orderRepository.findIdsInRangeByStatus(OrderStatus.PENDING, 99L, 200L, PageRequest.ofSize(50));
+
+        String plan = explain(SqlStatementCounter.last("select"), "PENDING", 99L, 200L, 0, 50);
+
+        assertTrue(plan.contains("IDX_CUST_ORDER_STATUS_ID"), plan);
+        assertTrue(plan.contains("index sorted"), plan);
+    }
+
+    @Test
+    void customerEmail_ShouldUseCustomerEmailIndex() {
+        orderRepository.findFirstPageIdsByCustomerEmail("test@example.com", PageRequest.ofSize(51));
+
+        String plan = explain(SqlStatementCounter.last("select"), "test@example.com", 51);
+
+        assertTrue(plan.contains("IDX_CUST_ORDER_CUSTOMER_EMAIL"), plan);
+    }
+
+    private String explain(String sql, Object... parameters) {
+        return jdbcTemplate.queryForObject("explain " + sql, String.class, parameters);
+    }
+}
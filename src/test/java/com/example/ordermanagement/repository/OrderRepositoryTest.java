@@ -1,12 +1,18 @@
 package com.example.ordermanagement.repository;
 
+import com.example.ordermanagement.dto.OrderSummary;
+import com.example.ordermanagement.dto.OrderVersion;
+import com.example.ordermanagement.model.Money;
 import com.example.ordermanagement.model.Order;
 import com.example.ordermanagement.model.OrderItem;
 import com.example.ordermanagement.model.OrderStatus;
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
@@ -21,6 +27,9 @@ class OrderRepositoryTest {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     private Order testOrder;
     private OrderItem testOrderItem;
 
@@ -31,7 +40,7 @@ class OrderRepositoryTest {
         testOrderItem = new OrderItem();
         testOrderItem.setProductName("Test Product");
         testOrderItem.setQuantity(2);
-        testOrderItem.setPrice(10.0);
+        testOrderItem.setPrice(Money.of("10.00"));
 
         testOrder = new Order();
         testOrder.setCustomerName("Test Customer");
@@ -62,22 +71,6 @@ class OrderRepositoryTest {
         assertEquals(savedOrder.getStatus(), foundOrder.getStatus());
     }
 
-    @Test
-    void findByStatus_ShouldReturnOrdersWithMatchingStatus() {
-        Order savedOrder = orderRepository.save(testOrder);
-        Order processingOrder = new Order();
-        processingOrder.setCustomerName("Another Customer");
-        processingOrder.setCustomerEmail("another@example.com");
-        processingOrder.setStatus(OrderStatus.PROCESSING);
-        orderRepository.save(processingOrder);
-
-        List<Order> pendingOrders = orderRepository.findByStatus(OrderStatus.PENDING);
-
-        assertEquals(1, pendingOrders.size());
-        assertEquals(savedOrder.getId(), pendingOrders.get(0).getId());
-        assertEquals(OrderStatus.PENDING, pendingOrders.get(0).getStatus());
-    }
-
     @Test
     void deleteOrder_ShouldDeleteOrderAndItems() {
         Order savedOrder = orderRepository.save(testOrder);
@@ -99,4 +92,133 @@ class OrderRepositoryTest {
         assertNotNull(updatedOrder);
         assertEquals(OrderStatus.PROCESSING, updatedOrder.getStatus());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void findWithItemsById_ShouldInitializeItems() {
+        Order savedOrder = orderRepository.save(testOrder);
+        orderRepository.flush();
+        entityManager.clear();
+
+        Order foundOrder = orderRepository.findWithItemsById(savedOrder.getId()).orElseThrow();
+
+        assertTrue(Hibernate.isInitialized(foundOrder.getItems()));
+        assertEquals(1, foundOrder.getItems().size());
+    }
+
+    @Test
+    void keysetPages_ShouldWalkAllOrdersWithoutGapsOrDuplicates() {
+        for (int i = 0; i < 5; i++) {
+            Order order = new Order();
+            order.setCustomerName("Customer " + i);
+            order.setStatus(i % 2 == 0 ? OrderStatus.PENDING : OrderStatus.SHIPPED);
+            orderRepository.save(order);
+        }
+
+        List<Long> firstPage = orderRepository.findFirstPageIds(PageRequest.ofSize(2));
+        Order last = orderRepository.findById(firstPage.get(1)).orElseThrow();
+        List<Long> secondPage = orderRepository.findPageIdsAfter(last.getCreatedAt(), last.getId(), PageRequest.ofSize(2));
+        last = orderRepository.findById(secondPage.get(1)).orElseThrow();
+        List<Long> thirdPage = orderRepository.findPageIdsAfter(last.getCreatedAt(), last.getId(), PageRequest.ofSize(2));
+
+        assertEquals(2, firstPage.size());
+        assertEquals(2, secondPage.size());
+        assertEquals(1, thirdPage.size());
+        assertTrue(firstPage.get(1) < secondPage.get(0));
+        assertTrue(secondPage.get(1) < thirdPage.get(0));
+    }
+
+    @Test
+    void keysetPagesByStatus_ShouldOnlyReturnMatchingStatus() {
+        for (int i = 0; i < 5; i++) {
+            Order order = new Order();
+            order.setCustomerName("Customer " + i);
+            order.setStatus(i % 2 == 0 ? OrderStatus.PENDING : OrderStatus.SHIPPED);
+            orderRepository.save(order);
+        }
+
+        List<Long> firstPage = orderRepository.findFirstPageIdsByStatus(OrderStatus.PENDING, PageRequest.ofSize(2));
+        Order last = orderRepository.findById(firstPage.get(1)).orElseThrow();
+        List<Long> secondPage = orderRepository.findPageIdsByStatusAfter(
+                OrderStatus.PENDING, last.getCreatedAt(), last.getId(), PageRequest.ofSize(2));
+
+        assertEquals(2, firstPage.size());
+        assertEquals(1, secondPage.size());
+        assertEquals(OrderStatus.PENDING, orderRepository.findById(secondPage.get(0)).orElseThrow().getStatus());
+    }
+
+    @Test
+    void totalAmount_ShouldBePersistedAndQueryableWithoutItems() {
+        orderRepository.save(testOrder);
+        Order larger = new Order();
+        larger.setCustomerName("Larger Customer");
+        larger.addItem(new OrderItem("Big Product", 3, Money.of("50.00")));
+        orderRepository.save(larger);
+        orderRepository.flush();
+        entityManager.clear();
+
+        List<Object[]> rows = entityManager.getEntityManager()
+                .createQuery("select o.customerName, o.totalMinorUnits from Order o " +
+                        "where o.totalMinorUnits >= :min order by o.totalMinorUnits desc", Object[].class)
+                .setParameter("min", 2000L)
+                .getResultList();
+
+        assertEquals(2, rows.size());
+        assertEquals("Larger Customer", rows.get(0)[0]);
+        assertEquals(15000L, rows.get(0)[1]);
+        assertEquals(2000L, rows.get(1)[1]);
+    }
+
+    @Test
+    void summaryPagesByStatus_ShouldProjectHeaderColumns() {
+        for (int i = 0; i < 3; i++) {
+            Order order = new Order();
+            order.setCustomerName("Customer " + i);
+            order.addItem(new OrderItem("Product", i + 1, Money.of("2.50")));
+            orderRepository.save(order);
+        }
+        orderRepository.flush();
+
+        List<OrderSummary> firstPage = orderRepository.findFirstSummaryPageByStatus(OrderStatus.PENDING, PageRequest.ofSize(2));
+        OrderSummary last = firstPage.get(1);
+        List<OrderSummary> secondPage = orderRepository.findSummaryPageByStatusAfter(
+                OrderStatus.PENDING, last.getCreatedAt(), last.getId(), PageRequest.ofSize(2));
+
+        assertEquals(2, firstPage.size());
+        assertEquals("Customer 0", firstPage.get(0).getCustomerName());
+        assertEquals(Money.of("5.00"), firstPage.get(1).getTotalAmount());
+        assertEquals(1, secondPage.size());
+        assertEquals("Customer 2", secondPage.get(0).getCustomerName());
+    }
+
+    @Test
+    void findIdsMovedAt_ShouldOnlyReturnRowsChangedByThatUpdate() {
+        Order moved = orderRepository.save(testOrder);
+        Order other = new Order();
+        other.setCustomerName("Other Customer");
+        other.setStatus(OrderStatus.PROCESSING);
+        other = orderRepository.saveAndFlush(other);
+        LocalDateTime updatedAt = LocalDateTime.of(2024, 1, 1, 12, 0, 0, 123_456_000);
+
+        orderRepository.updateStatusByIds(List.of(moved.getId(), other.getId()),
+                OrderStatus.PENDING, OrderStatus.PROCESSING, updatedAt);
+
+        assertEquals(List.of(moved.getId()), orderRepository.findIdsMovedAt(
+                List.of(moved.getId(), other.getId()), OrderStatus.PROCESSING, updatedAt));
+    }
+
+    @Test
+    void versionLookups_ShouldFollowUpdates() {
+        Order saved = orderRepository.saveAndFlush(testOrder);
+        Order other = new Order();
+        other.setCustomerName("Other Customer");
+        other = orderRepository.saveAndFlush(other);
+        orderRepository.transitionStatus(saved.getId(), OrderStatus.PROCESSING.getSources(),
+                OrderStatus.PROCESSING, LocalDateTime.now());
+
+        assertEquals(1L, orderRepository.findVersionById(saved.getId()).orElseThrow());
+        assertTrue(orderRepository.findVersionById(-1L).isEmpty());
+        List<OrderVersion> versions = orderRepository.findVersionsByIdIn(List.of(other.getId(), saved.getId()));
+        assertEquals(List.of(saved.getId(), other.getId()), versions.stream().map(OrderVersion::getId).toList());
+        assertEquals(List.of(1L, 0L), versions.stream().map(OrderVersion::getVersion).toList());
+    }
+}
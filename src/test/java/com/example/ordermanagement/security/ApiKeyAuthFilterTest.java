@@ -0,0 +1,102 @@
+package com.example.ordermanagement.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApiKeyAuthFilterTest {
+
+    private static final String API_KEY = "550e8400-e29b-41d4-a716-446655440000";
+
+    private ApiKeyAuthFilter filter;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        // Two requests of burst, then one every 10 seconds
+        ApiKeyRegistry registry = new ApiKeyRegistry(API_KEY, "", 0.1, 2);
+        meterRegistry = new SimpleMeterRegistry();
+        registry.bindTo(meterRegistry);
+        filter = new ApiKeyAuthFilter(registry, AntPathRequestMatcher.antMatcher("/api/orders/**"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void validKey_ShouldAuthenticateAsClient() throws Exception {
+        Authentication[] seen = new Authentication[1];
+
+        MockHttpServletResponse response = filter("/api/orders/1", API_KEY, (request, res) ->
+                seen[0] = SecurityContextHolder.getContext().getAuthentication());
+
+        assertEquals(200, response.getStatus());
+        assertEquals(ApiKeyRegistry.DEFAULT_CLIENT, seen[0].getName());
+        assertTrue(seen[0].isAuthenticated());
+        assertNull(seen[0].getCredentials());
+    }
+
+    @Test
+    void invalidKey_ShouldReturn401() throws Exception {
+        MockHttpServletResponse response = filter("/api/orders/1", "wrong-key", new MockFilterChain());
+
+        assertEquals(401, response.getStatus());
+        assertEquals("Invalid API Key", response.getContentAsString());
+    }
+
+    @Test
+    void exhaustedRateLimit_ShouldReturn429WithRetryAfter() throws Exception {
+        assertEquals(200, filter("/api/orders/1", API_KEY, new MockFilterChain()).getStatus());
+        assertEquals(200, filter("/api/orders/1", API_KEY, new MockFilterChain()).getStatus());
+
+        MockHttpServletResponse response = filter("/api/orders/1", API_KEY, new MockFilterChain());
+
+        assertEquals(429, response.getStatus());
+        long retryAfter = Long.parseLong(response.getHeader("Retry-After"));
+        assertTrue(retryAfter >= 9 && retryAfter <= 10, "Retry-After was " + retryAfter);
+        assertEquals(1.0, meterRegistry.get("api.requests.rate.limited").tag("client", "default").counter().count());
+    }
+
+    @Test
+    void unprotectedPath_ShouldPassWithoutKey() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        MockHttpServletResponse response = filter("/actuator/health", null, chain);
+
+        assertEquals(200, response.getStatus());
+        assertNotNull(chain.getRequest());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void retryAfterSeconds_ShouldRoundUp() {
+        assertEquals(1, ApiKeyAuthFilter.retryAfterSeconds(1));
+        assertEquals(1, ApiKeyAuthFilter.retryAfterSeconds(TimeUnit.SECONDS.toNanos(1)));
+        assertEquals(2, ApiKeyAuthFilter.retryAfterSeconds(TimeUnit.MILLISECONDS.toNanos(1001)));
+    }
+
+    private MockHttpServletResponse filter(String path, String apiKey, FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        if (apiKey != null) {
+            request.addHeader("X-API-Key", apiKey);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
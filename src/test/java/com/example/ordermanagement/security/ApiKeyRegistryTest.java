@@ -0,0 +1,133 @@
+package com.example.ordermanagement.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApiKeyRegistryTest {
+
+    private static final String DEFAULT_KEY = "550e8400-e29b-41d4-a716-446655440000";
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void authenticate_ShouldResolveDefaultAndFileKeys() throws IOException {
+        Path file = write("""
+                [{"client": "acme", "keys": ["%s", "%s"], "requestsPerSecond": 5, "burst": 1}]
+                """.formatted(ApiKeyRegistry.hash("acme-1"), ApiKeyRegistry.hash("acme-2").toUpperCase()));
+
+        ApiKeyRegistry registry = new ApiKeyRegistry(DEFAULT_KEY, file.toString(), 100, 10);
+
+        assertEquals(ApiKeyRegistry.DEFAULT_CLIENT, registry.authenticate(DEFAULT_KEY).id());
+        ApiClient acme = registry.authenticate("acme-1");
+        assertEquals("acme", acme.id());
+        // Both keys of a client share its principal and its rate limit
+        assertSame(acme, registry.authenticate("acme-2"));
+        assertEquals("acme", acme.authentication().getName());
+        assertEquals(5, acme.rateLimit().getPermitsPerSecond());
+        assertEquals(3, registry.size());
+        assertNull(registry.authenticate("unknown"));
+        assertNull(registry.authenticate(null));
+        assertNull(registry.authenticate(ApiKeyRegistry.hash("acme-1")));
+    }
+
+    @Test
+    void zeroRate_ShouldDisableRateLimit() {
+        ApiKeyRegistry registry = new ApiKeyRegistry(DEFAULT_KEY, "", 0, 10);
+
+        ApiClient client = registry.authenticate(DEFAULT_KEY);
+
+        assertNull(client.rateLimit());
+        assertEquals(0, client.tryAcquire());
+    }
+
+    @Test
+    void reloadIfChanged_ShouldPickUpNewKeysAndKeepBuckets() throws IOException {
+        Path file = write("""
+                [{"client": "acme", "keys": ["%s"]}]
+                """.formatted(ApiKeyRegistry.hash("old-key")));
+        ApiKeyRegistry registry = new ApiKeyRegistry(DEFAULT_KEY, file.toString(), 100, 10);
+        ApiClient before = registry.authenticate("old-key");
+
+        write("""
+                [{"client": "acme", "keys": ["%s"]}, {"client": "globex", "keys": ["%s"], "requestsPerSecond": 1}]
+                """.formatted(ApiKeyRegistry.hash("new-key"), ApiKeyRegistry.hash("globex-key")));
+        touch(file);
+        registry.reloadIfChanged();
+
+        assertNull(registry.authenticate("old-key"));
+        assertSame(before, registry.authenticate("new-key"));
+        assertEquals("globex", registry.authenticate("globex-key").id());
+    }
+
+    @Test
+    void reloadIfChanged_WithInvalidFile_ShouldKeepCurrentKeys() throws IOException {
+        Path file = write("""
+                [{"client": "acme", "keys": ["%s"]}]
+                """.formatted(ApiKeyRegistry.hash("acme-key")));
+        ApiKeyRegistry registry = new ApiKeyRegistry(DEFAULT_KEY, file.toString(), 100, 10);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        registry.bindTo(meterRegistry);
+
+        write("""
+                [{"client": "acme", "keys": ["not-a-digest"]}]
+                """);
+        touch(file);
+        registry.reloadIfChanged();
+
+        assertEquals("acme", registry.authenticate("acme-key").id());
+        assertEquals(1.0, meterRegistry.get("api.keys.reload.failures").counter().count());
+        assertEquals(2.0, meterRegistry.get("api.keys").gauge().value());
+    }
+
+    @Test
+    void constructor_WithKeySharedByTwoClients_ShouldThrow() throws IOException {
+        String digest = ApiKeyRegistry.hash("shared");
+        Path file = write("""
+                [{"client": "acme", "keys": ["%s"]}, {"client": "globex", "keys": ["%s"]}]
+                """.formatted(digest, digest));
+
+        assertThrows(IllegalArgumentException.class, () -> new ApiKeyRegistry(DEFAULT_KEY, file.toString(), 100, 10));
+    }
+
+    @Test
+    void reloadIfChanged_WhenFileDeleted_ShouldRevokeItsKeys() throws IOException {
+        Path file = write("""
+                [{"client": "acme", "keys": ["%s"]}]
+                """.formatted(ApiKeyRegistry.hash("acme-key")));
+        ApiKeyRegistry registry = new ApiKeyRegistry(DEFAULT_KEY, file.toString(), 100, 10);
+
+        Files.delete(file);
+        registry.reloadIfChanged();
+
+        assertNull(registry.authenticate("acme-key"));
+        assertEquals(ApiKeyRegistry.DEFAULT_CLIENT, registry.authenticate(DEFAULT_KEY).id());
+        assertEquals(1, registry.size());
+
+        // Recreating the file brings its keys back
+        write("""
+                [{"client": "acme", "keys": ["%s"]}]
+                """.formatted(ApiKeyRegistry.hash("acme-key")));
+        registry.reloadIfChanged();
+
+        assertEquals("acme", registry.authenticate("acme-key").id());
+    }
+
+    private Path write(String json) throws IOException {
+        return Files.writeString(directory.resolve("api-keys.json"), json);
+    }
+
+    // File times can be coarse; make the change visible regardless
+    private static void touch(Path file) throws IOException {
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(60)));
+    }
+}
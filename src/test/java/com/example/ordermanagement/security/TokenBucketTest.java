@@ -0,0 +1,83 @@
+package com.example.ordermanagement.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    private final AtomicLong clock = new AtomicLong(-5_000_000_000L); // nanoTime may be negative
+
+    @Test
+    void tryAcquire_ShouldAllowBurstThenReportWait() {
+        TokenBucket bucket = new TokenBucket(10, 3, clock::get);
+
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), bucket.tryAcquire());
+    }
+
+    @Test
+    void tryAcquire_ShouldRefillOverTime() {
+        TokenBucket bucket = new TokenBucket(10, 2, clock::get);
+        bucket.tryAcquire();
+        bucket.tryAcquire();
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(40));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(60), bucket.tryAcquire());
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(60));
+        assertEquals(0, bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire() > 0);
+    }
+
+    @Test
+    void tryAcquire_AfterLongIdle_ShouldNotExceedBurst() {
+        TokenBucket bucket = new TokenBucket(10, 2, clock::get);
+        clock.addAndGet(TimeUnit.HOURS.toNanos(1));
+
+        assertEquals(0, bucket.tryAcquire());
+        assertEquals(0, bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire() > 0);
+    }
+
+    @Test
+    void tryAcquire_Concurrently_ShouldHandOutExactlyTheBurst() throws Exception {
+        TokenBucket bucket = new TokenBucket(1e-3, 500, clock::get);
+        List<Future<Integer>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                results.add(executor.submit(() -> {
+                    int acquired = 0;
+                    for (int i = 0; i < 200; i++) {
+                        if (bucket.tryAcquire() == 0) {
+                            acquired++;
+                        }
+                    }
+                    return acquired;
+                }));
+            }
+        }
+        int total = 0;
+        for (Future<Integer> result : results) {
+            total += result.get();
+        }
+        assertEquals(500, total);
+    }
+
+    @Test
+    void constructor_WithoutPositiveRate_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0));
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.ordermanagement.service;
+
+import com.example.ordermanagement.dto.BatchOrderResponse;
+import com.example.ordermanagement.dto.BatchOrderResult;
+import com.example.ordermanagement.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({OrderBatchService.class, OrderStatusCounters.class, OrderJournal.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@TestPropertySource(properties = "orders.batch.chunk-size=2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // chunks commit in their own transactions
+class OrderBatchServiceTest {
+
+    @Autowired
+    private OrderBatchService orderBatchService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void createOrders_FromJsonArray_ShouldPersistAllOrders() throws Exception {
+        BatchOrderResponse response = orderBatchService.createOrders(body("[" +
+                order("A") + "," + order("B") + "," + order("C") + "]"));
+
+        assertEquals(3, response.getReceived());
+        assertEquals(3, response.getCreated());
+        assertEquals(0, response.getFailed());
+        assertTrue(response.getResults().stream().allMatch(r -> r.getOrderId() != null));
+        assertEquals(3, orderRepository.count());
+    }
+
+    @Test
+    void createOrders_FromNdjson_ShouldPersistAllOrders() throws Exception {
+        BatchOrderResponse response = orderBatchService.createOrders(body(
+                order("A") + "\n" + order("B") + "\n"));
+
+        assertEquals(2, response.getCreated());
+        assertEquals(2, orderRepository.count());
+    }
+
+    @Test
+    void createOrders_WithInvalidOrder_ShouldOnlyFailThatOrder() throws Exception {
+        BatchOrderResponse response = orderBatchService.createOrders(body("[" +
+                order("A") + "," + order("") + "," + order("C") + "]"));
+
+        assertEquals(2, response.getCreated());
+        assertEquals(1, response.getFailed());
+        BatchOrderResult failed = response.getResults().get(1);
+        assertEquals(1, failed.getIndex());
+        assertFalse(failed.isCreated());
+        assertEquals("customerName is required", failed.getError());
+        assertEquals(2, orderRepository.count());
+    }
+
+    @Test
+    void createOrders_WithNullItems_ShouldOnlyFailThatOrder() throws Exception {
+        BatchOrderResponse response = orderBatchService.createOrders(body("[" + order("A") + "," +
+                "{\"customerName\":\"B\",\"customerEmail\":\"c@example.com\",\"items\":null}]"));
+
+        assertEquals(1, response.getCreated());
+        assertEquals("items is required", response.getResults().get(1).getError());
+        assertEquals(1, orderRepository.count());
+    }
+
+    @Test
+    void createOrders_WhenDatabaseRejectsOrder_ShouldKeepRestOfChunk() throws Exception {
+        assertRejectedOrderOnlyFailsItself(orderBatchService, orderRepository);
+    }
+
+    @Nested
+    @TestPropertySource(properties = {
+            "orders.journal.enabled=true",
+            "orders.journal.directory=target/batch-journal-test/${random.uuid}"})
+    class WithJournal {
+
+        // The enclosing instance keeps the beans of the journal-less context, so these shadow them
+        @Autowired
+        private OrderBatchService orderBatchService;
+
+        @Autowired
+        private OrderRepository orderRepository;
+
+        @Autowired
+        private OrderJournal orderJournal;
+
+        @Test
+        void createOrders_WhenDatabaseRejectsOrder_ShouldKeepRestOfChunk() throws Exception {
+            orderRepository.deleteAll();
+
+            BatchOrderResponse response = assertRejectedOrderOnlyFailsItself(orderBatchService, orderRepository);
+
+            orderJournal.flush();
+            List<Long> journaled = new ArrayList<>();
+            orderJournal.reader(1).forEachRemaining(event -> journaled.add(event.orderId()));
+            assertEquals(List.of(response.getResults().get(0).getOrderId(), response.getResults().get(2).getOrderId()),
+                    journaled);
+        }
+    }
+
+    // Order A is retried on its own after its chunk fails, and must report the id it was committed with
+    private static BatchOrderResponse assertRejectedOrderOnlyFailsItself(OrderBatchService orderBatchService,
+                                                                         OrderRepository orderRepository) throws Exception {
+        String tooLong = "x".repeat(300);
+        BatchOrderResponse response = orderBatchService.createOrders(body("[" +
+                order("A") + "," + order(tooLong) + "," + order("C") + "]"));
+
+        assertEquals(2, response.getCreated());
+        assertEquals(1, response.getFailed());
+        assertFalse(response.getResults().get(1).isCreated());
+        assertNotNull(response.getResults().get(1).getError());
+        BatchOrderResult retried = response.getResults().get(0);
+        assertTrue(retried.isCreated());
+        assertNotNull(retried.getOrderId());
+        assertNotNull(response.getResults().get(2).getOrderId());
+        assertEquals(2, orderRepository.count());
+        assertTrue(orderRepository.existsById(retried.getOrderId()));
+        return response;
+    }
+
+    @Test
+    void createOrders_WithMalformedInput_ShouldKeepOrdersReadBeforeIt() throws Exception {
+        BatchOrderResponse response = orderBatchService.createOrders(body(
+                order("A") + "\n{\"customerName\": \n"));
+
+        assertEquals(1, response.getCreated());
+        assertEquals(1, response.getFailed());
+        assertTrue(response.getResults().get(1).getError().startsWith("Malformed order"));
+        assertEquals(1, orderRepository.count());
+    }
+
+    private static String order(String customerName) {
+        return "{\"customerName\":\"" + customerName + "\",\"customerEmail\":\"c@example.com\"," +
+                "\"items\":[{\"productName\":\"Laptop\",\"quantity\":1,\"price\":999.99}]}";
+    }
+
+    private static ByteArrayInputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
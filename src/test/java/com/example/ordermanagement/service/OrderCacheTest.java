@@ -0,0 +1,150 @@
+package com.example.ordermanagement.service;
+
+import com.example.ordermanagement.model.Order;
+import com.example.ordermanagement.model.OrderStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderCacheTest {
+
+    private final OrderCache orderCache = new OrderCache(2, Duration.ofMinutes(5));
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void get_ShouldLoadOnceAndRecordHitsAndMisses() {
+        AtomicInteger loads = new AtomicInteger();
+
+        orderCache.get(1L, id -> { loads.incrementAndGet(); return order(id, OrderStatus.PENDING); });
+        orderCache.get(1L, id -> { loads.incrementAndGet(); return order(id, OrderStatus.PENDING); });
+
+        assertEquals(1, loads.get());
+        assertEquals(1, orderCache.stats().hitCount());
+        assertEquals(1, orderCache.stats().missCount());
+    }
+
+    @Test
+    void get_WhenLoaderReturnsNull_ShouldNotCacheMiss() {
+        assertNull(orderCache.get(1L, id -> null));
+
+        assertEquals(0, orderCache.size());
+    }
+
+    @Test
+    void get_BeyondMaximumSize_ShouldEvict() {
+        for (long id = 1; id <= 10; id++) {
+            orderCache.get(id, key -> order(key, OrderStatus.PENDING));
+        }
+
+        assertEquals(2, orderCache.size());
+        assertEquals(8, orderCache.stats().evictionCount());
+    }
+
+    @Test
+    void get_ConcurrentMisses_ShouldShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        CompletableFuture<Order> first = CompletableFuture.supplyAsync(() -> orderCache.get(1L, id -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return order(id, OrderStatus.PENDING);
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Order> second = CompletableFuture.supplyAsync(() -> orderCache.get(1L, id -> {
+            loads.incrementAndGet();
+            return order(id, OrderStatus.SHIPPED);
+        }));
+        release.countDown();
+
+        assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_WhenLoaderThrows_ShouldPropagateAndNotCache() {
+        assertThrows(IllegalStateException.class,
+                () -> orderCache.get(1L, id -> { throw new IllegalStateException("boom"); }));
+
+        assertEquals(OrderStatus.SHIPPED, orderCache.get(1L, id -> order(id, OrderStatus.SHIPPED)).getStatus());
+    }
+
+    @Test
+    void evictAfterCommit_WithoutTransaction_ShouldEvictImmediately() {
+        orderCache.get(1L, id -> order(id, OrderStatus.PENDING));
+
+        orderCache.evictAfterCommit(1L);
+
+        assertEquals(0, orderCache.size());
+    }
+
+    @Test
+    void evictAfterCommit_InTransaction_ShouldEvictOnlyOnCompletion() {
+        orderCache.get(1L, id -> order(id, OrderStatus.PENDING));
+        TransactionSynchronizationManager.initSynchronization();
+
+        orderCache.evictAfterCommit(List.of(1L));
+        assertEquals(1, orderCache.size());
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(0, orderCache.size());
+    }
+
+    @Test
+    void evict_DuringInFlightLoad_ShouldNotLeaveStaleValue() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Reader loads the pre-commit row and is paused before publishing it
+        CompletableFuture<Order> reader = CompletableFuture.supplyAsync(() -> orderCache.get(1L, id -> {
+            loading.countDown();
+            await(release);
+            return order(id, OrderStatus.PENDING);
+        }));
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        // Writer commits and evicts while the read is still in flight; eviction does not wait for it
+        orderCache.evictAfterCommit(1L);
+        release.countDown();
+        assertEquals(OrderStatus.PENDING, reader.get(5, TimeUnit.SECONDS).getStatus());
+
+        Order current = orderCache.get(1L, id -> order(id, OrderStatus.SHIPPED));
+        assertEquals(OrderStatus.SHIPPED, current.getStatus());
+    }
+
+    private static Order order(Long id, OrderStatus status) {
+        Order order = new Order();
+        order.setId(id);
+        order.setStatus(status);
+        return order;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
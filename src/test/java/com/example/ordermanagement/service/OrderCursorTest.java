@@ -0,0 +1,39 @@
+package com.example.ordermanagement.service;
+
+import com.example.ordermanagement.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderCursorTest {
+
+    @Test
+    void encodeAndDecode_ShouldRoundTrip() {
+        OrderCursor cursor = new OrderCursor(LocalDateTime.of(2024, 4, 1, 12, 34, 56, 789000), 42L);
+
+        OrderCursor decoded = OrderCursor.decode(cursor.encode());
+
+        assertEquals(cursor, decoded);
+    }
+
+    @Test
+    void encode_ShouldBeUrlSafe() {
+        String token = new OrderCursor(LocalDateTime.of(2024, 4, 1, 12, 0), Long.MAX_VALUE).encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void decode_WithGarbage_ShouldThrowBadRequestException() {
+        assertThrows(BadRequestException.class, () -> OrderCursor.decode("not a cursor!"));
+    }
+
+    @Test
+    void decode_WithMalformedPayload_ShouldThrowBadRequestException() {
+        String token = java.util.Base64.getUrlEncoder().encodeToString("2024-04-01T12:00|abc".getBytes());
+
+        assertThrows(BadRequestException.class, () -> OrderCursor.decode(token));
+    }
+}
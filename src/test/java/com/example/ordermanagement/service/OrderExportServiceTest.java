@@ -0,0 +1,121 @@
+package com.example.ordermanagement.service;
+
+import com.example.ordermanagement.model.Money;
+import com.example.ordermanagement.exception.BadRequestException;
+import com.example.ordermanagement.model.Order;
+import com.example.ordermanagement.model.OrderItem;
+import com.example.ordermanagement.model.OrderStatus;
+import com.example.ordermanagement.repository.OrderRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(OrderExportService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@TestPropertySource(properties = "orders.export.clear-interval=2")
+class OrderExportServiceTest {
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        for (int i = 0; i < 5; i++) {
+            Order order = new Order();
+            order.setCustomerName("Customer " + i);
+            order.setStatus(i < 3 ? OrderStatus.PENDING : OrderStatus.SHIPPED);
+            order.addItem(new OrderItem("Product " + i, i + 1, Money.of("10.00")));
+            orderRepository.save(order);
+        }
+        orderRepository.flush();
+    }
+
+    @Test
+    void exportOrders_ShouldWriteOneJsonObjectPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = orderExportService.exportOrders(null, null, null, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(5, count);
+        assertEquals(5, lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            JsonNode row = objectMapper.readTree(lines[i]);
+            assertEquals("Customer " + i, row.get("customerName").asText());
+            assertEquals(1, row.get("items").size());
+        }
+    }
+
+    @Test
+    void exportOrders_WithStatusFilter_ShouldOnlyWriteMatchingOrders() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = orderExportService.exportOrders(OrderStatus.SHIPPED, null, null, out);
+
+        assertEquals(2, count);
+        assertTrue(out.toString(StandardCharsets.UTF_8).lines()
+                .allMatch(line -> line.contains("\"status\":\"SHIPPED\"")));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = ExportFormat.class, names = {"SMILE", "CBOR"})
+    void exportOrders_InBinaryFormat_ShouldWriteReadableSequence(ExportFormat format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = orderExportService.exportOrders(null, null, null, format, out);
+
+        ObjectMapper binaryMapper = objectMapper.copyWith(
+                format == ExportFormat.SMILE ? new SmileFactory() : new CBORFactory());
+        List<JsonNode> rows = binaryMapper.readerFor(JsonNode.class).<JsonNode>readValues(out.toByteArray()).readAll();
+        assertEquals(5, count);
+        assertEquals(5, rows.size());
+        assertEquals("Customer 4", rows.get(4).get("customerName").asText());
+        assertEquals("SHIPPED", rows.get(4).get("status").asText());
+    }
+
+    @Test
+    void exportOrders_WithTimeRange_ShouldOnlyWriteOrdersInRange() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = orderExportService.exportOrders(null, LocalDateTime.now().plusDays(1), null, out);
+
+        assertEquals(0, count);
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    void exportOrders_WithInvertedRange_ShouldThrowException() {
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThrows(BadRequestException.class,
+                () -> orderExportService.exportOrders(null, now, now.minusDays(1), new ByteArrayOutputStream()));
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.ordermanagement.service;
+
+import com.example.ordermanagement.dto.BatchOrderResult;
+import com.example.ordermanagement.dto.IntakeStatus;
+import com.example.ordermanagement.exception.BadRequestException;
+import com.example.ordermanagement.exception.IntakeRejectedException;
+import com.example.ordermanagement.exception.OrderNotFoundException;
+import com.example.ordermanagement.model.Order;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderIntakeServiceTest {
+
+    @Mock
+    private OrderBatchService orderBatchService;
+
+    private final CountDownLatch writerBlocked = new CountDownLatch(1);
+    private final CountDownLatch releaseWriter = new CountDownLatch(1);
+    private final List<Integer> groupSizes = new CopyOnWriteArrayList<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+
+    private OrderIntakeService orderIntakeService;
+
+    @BeforeEach
+    void setUp() {
+        // The first group blocks until released, so later submissions pile up in the queue
+        lenient().when(orderBatchService.persistChunk(anyList())).thenAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            groupSizes.add(orders.size());
+            writerBlocked.countDown();
+            assertTrue(releaseWriter.await(5, TimeUnit.SECONDS));
+            List<BatchOrderResult> results = new ArrayList<>();
+            for (int i = 0; i < orders.size(); i++) {
+                results.add(BatchOrderResult.created(i, nextId.getAndIncrement()));
+            }
+            return results;
+        });
+        orderIntakeService = new OrderIntakeService(orderBatchService, true, 3, 10,
+                Duration.ofMinutes(10), 1000, Duration.ofSeconds(5));
+        orderIntakeService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseWriter.countDown();
+        orderIntakeService.stop();
+    }
+
+    @Test
+    void submit_ShouldPersistQueuedOrderAndReportIt() throws Exception {
+        releaseWriter.countDown();
+
+        IntakeStatus queued = orderIntakeService.submit(order("Customer"));
+
+        assertEquals(IntakeStatus.State.QUEUED, queued.getState());
+        IntakeStatus persisted = awaitOutcome(queued.getIntakeId());
+        assertEquals(IntakeStatus.State.PERSISTED, persisted.getState());
+        assertEquals(1L, persisted.getOrderId());
+    }
+
+    @Test
+    void submit_WithInvalidOrder_ShouldRejectBeforeQueueing() {
+        assertThrows(BadRequestException.class, () -> orderIntakeService.submit(order(null)));
+
+        assertEquals(0, orderIntakeService.queuedCount());
+        verifyNoInteractions(orderBatchService);
+    }
+
+    @Test
+    void submit_WhenQueueIsFull_ShouldReject() throws Exception {
+        orderIntakeService.submit(order("Customer 0"));
+        assertTrue(writerBlocked.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i <= 3; i++) {
+            orderIntakeService.submit(order("Customer " + i));
+        }
+
+        assertThrows(IntakeRejectedException.class, () -> orderIntakeService.submit(order("Customer 4")));
+    }
+
+    @Test
+    void writer_ShouldCommitOrdersQueuedMeanwhileAsOneGroup() throws Exception {
+        orderIntakeService.submit(order("Customer 0"));
+        assertTrue(writerBlocked.await(5, TimeUnit.SECONDS));
+        List<IntakeStatus> waiting = List.of(
+                orderIntakeService.submit(order("Customer 1")),
+                orderIntakeService.submit(order("Customer 2")),
+                orderIntakeService.submit(order("Customer 3")));
+
+        releaseWriter.countDown();
+        for (IntakeStatus status : waiting) {
+            assertEquals(IntakeStatus.State.PERSISTED, awaitOutcome(status.getIntakeId()).getState());
+        }
+
+        assertEquals(List.of(1, 3), groupSizes);
+    }
+
+    @Test
+    void stop_ShouldPersistEverythingStillQueued() throws Exception {
+        orderIntakeService.submit(order("Customer 0"));
+        assertTrue(writerBlocked.await(5, TimeUnit.SECONDS));
+        IntakeStatus last = orderIntakeService.submit(order("Customer 1"));
+
+        releaseWriter.countDown();
+        orderIntakeService.stop();
+
+        assertEquals(IntakeStatus.State.PERSISTED, orderIntakeService.getStatus(last.getIntakeId()).getState());
+        assertEquals(0, orderIntakeService.queuedCount());
+        assertThrows(IntakeRejectedException.class, () -> orderIntakeService.submit(order("Customer 2")));
+    }
+
+    @Test
+    void getStatus_WithUnknownId_ShouldThrowNotFound() {
+        assertThrows(OrderNotFoundException.class, () -> orderIntakeService.getStatus("unknown"));
+    }
+
+    private IntakeStatus awaitOutcome(String intakeId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        IntakeStatus status = orderIntakeService.getStatus(intakeId);
+        while (status.getState() == IntakeStatus.State.QUEUED && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            status = orderIntakeService.getStatus(intakeId);
+        }
+        return status;
+    }
+
+    private static Order order(String customerName) {
+        Order order = new Order();
+        order.setCustomerName(customerName);
+        return order;
+    }
+}
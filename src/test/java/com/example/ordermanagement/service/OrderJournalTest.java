@@ -0,0 +1,218 @@
+package com.example.ordermanagement.service;
+
+import com.example.ordermanagement.model.Order;
+import com.example.ordermanagement.model.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderJournalTest {
+
+    @TempDir
+    private Path directory;
+
+    private final List<OrderJournal> opened = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        opened.forEach(OrderJournal::stop);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void append_ShouldBeReadBackInOrder() {
+        OrderJournal journal = start(DataSize.ofMegabytes(1));
+
+        assertEquals(1, journal.append(OrderEvent.Type.CREATED, 10L, null, OrderStatus.PENDING));
+        assertEquals(2, journal.append(OrderEvent.Type.STATUS_CHANGED, 10L, OrderStatus.PENDING, OrderStatus.PROCESSING));
+        assertEquals(3, journal.append(OrderEvent.Type.CANCELLED, 11L, OrderStatus.PENDING, OrderStatus.CANCELLED));
+
+        List<OrderEvent> events = read(journal, 1);
+        assertEquals(List.of(1L, 2L, 3L), events.stream().map(OrderEvent::sequence).toList());
+        OrderEvent changed = events.get(1);
+        assertEquals(OrderEvent.Type.STATUS_CHANGED, changed.type());
+        assertEquals(10L, changed.orderId());
+        assertEquals(OrderStatus.PENDING, changed.from());
+        assertEquals(OrderStatus.PROCESSING, changed.to());
+        assertNull(events.get(0).from());
+        assertNotNull(changed.timestamp());
+    }
+
+    @Test
+    void append_WhenSegmentIsFull_ShouldRollToNewSegment() throws IOException {
+        // Room for three records per segment
+        OrderJournal journal = start(DataSize.ofBytes(3 * OrderJournalReader.RECORD_BYTES + 10));
+        for (long id = 1; id <= 10; id++) {
+            journal.append(OrderEvent.Type.CREATED, id, null, OrderStatus.PENDING);
+        }
+
+        try (var files = Files.list(directory)) {
+            assertEquals(4, files.count());
+        }
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L),
+                read(journal, 1).stream().map(OrderEvent::orderId).toList());
+        assertEquals(List.of(7L, 8L, 9L, 10L), read(journal, 7).stream().map(OrderEvent::sequence).toList());
+    }
+
+    @Test
+    void flush_ShouldAdvanceDurableSequence() {
+        OrderJournal journal = start(DataSize.ofMegabytes(1));
+        journal.append(OrderEvent.Type.CREATED, 1L, null, OrderStatus.PENDING);
+        journal.append(OrderEvent.Type.CREATED, 2L, null, OrderStatus.PENDING);
+
+        journal.flush();
+
+        assertEquals(2, journal.getDurableSequence());
+    }
+
+    @Test
+    void restart_ShouldContinueAfterLastEvent() {
+        OrderJournal first = start(DataSize.ofMegabytes(1));
+        first.append(OrderEvent.Type.CREATED, 1L, null, OrderStatus.PENDING);
+        first.append(OrderEvent.Type.CREATED, 2L, null, OrderStatus.PENDING);
+        first.stop();
+
+        OrderJournal second = start(DataSize.ofMegabytes(1));
+
+        assertEquals(2, second.getDurableSequence());
+        assertEquals(3, second.append(OrderEvent.Type.CREATED, 3L, null, OrderStatus.PENDING));
+        assertEquals(List.of(1L, 2L, 3L), read(second, 1).stream().map(OrderEvent::orderId).toList());
+    }
+
+    @Test
+    void restart_WithTornRecord_ShouldTruncateAndOverwriteIt() throws IOException {
+        OrderJournal first = start(DataSize.ofMegabytes(1));
+        for (long id = 1; id <= 3; id++) {
+            first.append(OrderEvent.Type.CREATED, id, null, OrderStatus.PENDING);
+        }
+        first.stop();
+        Path segment = directory.resolve(OrderJournalReader.segmentName(1));
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            // Corrupt the order id of the third record so its checksum no longer matches
+            channel.write(ByteBuffer.wrap(new byte[]{42}), 2L * OrderJournalReader.RECORD_BYTES + 30);
+        }
+
+        OrderJournal second = start(DataSize.ofMegabytes(1));
+
+        assertEquals(2, read(second, 1).size());
+        assertEquals(3, second.append(OrderEvent.Type.CREATED, 30L, null, OrderStatus.PENDING));
+        assertEquals(List.of(1L, 2L, 30L), read(second, 1).stream().map(OrderEvent::orderId).toList());
+    }
+
+    @Test
+    void restart_WithEmptyTornRecord_ShouldClearStaleRecordsAfterIt() throws IOException {
+        OrderJournal first = start(DataSize.ofMegabytes(1));
+        for (long id = 1; id <= 4; id++) {
+            first.append(OrderEvent.Type.CREATED, id, null, OrderStatus.PENDING);
+        }
+        first.stop();
+        Path segment = directory.resolve(OrderJournalReader.segmentName(1));
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            // The third record's page never reached disk, the fourth one's did
+            channel.write(ByteBuffer.allocate(OrderJournalReader.RECORD_BYTES), 2L * OrderJournalReader.RECORD_BYTES);
+        }
+
+        OrderJournal second = start(DataSize.ofMegabytes(1));
+        assertEquals(3, second.append(OrderEvent.Type.CREATED, 30L, null, OrderStatus.PENDING));
+        second.stop();
+        OrderJournal third = start(DataSize.ofMegabytes(1));
+
+        // Without clearing, the stale fourth record would now read as the continuation of sequence 3
+        assertEquals(List.of(1L, 2L, 30L), read(third, 1).stream().map(OrderEvent::orderId).toList());
+        assertEquals(4, third.append(OrderEvent.Type.CREATED, 40L, null, OrderStatus.PENDING));
+    }
+
+    @Test
+    void rebuildStatuses_ShouldReplayLatestStatusPerOrder() {
+        OrderJournal journal = start(DataSize.ofMegabytes(1));
+        journal.append(OrderEvent.Type.CREATED, 1L, null, OrderStatus.PENDING);
+        journal.append(OrderEvent.Type.CREATED, 2L, null, OrderStatus.PENDING);
+        journal.append(OrderEvent.Type.STATUS_CHANGED, 1L, OrderStatus.PENDING, OrderStatus.PROCESSING);
+        journal.append(OrderEvent.Type.STATUS_CHANGED, 1L, OrderStatus.PROCESSING, OrderStatus.SHIPPED);
+        journal.append(OrderEvent.Type.CANCELLED, 2L, OrderStatus.PENDING, OrderStatus.CANCELLED);
+
+        assertEquals(Map.of(1L, OrderStatus.SHIPPED, 2L, OrderStatus.CANCELLED), journal.rebuildStatuses());
+    }
+
+    @Test
+    void recordTransitions_InsideTransaction_ShouldOnlyAppendAfterCommit() {
+        OrderJournal journal = start(DataSize.ofMegabytes(1));
+        TransactionSynchronizationManager.initSynchronization();
+
+        journal.recordTransitions(List.of(1L, 2L), OrderStatus.PENDING, OrderStatus.CANCELLED);
+        assertTrue(read(journal, 1).isEmpty());
+        TransactionSynchronizationUtils.triggerAfterCommit();
+
+        List<OrderEvent> events = read(journal, 1);
+        assertEquals(List.of(1L, 2L), events.stream().map(OrderEvent::orderId).toList());
+        assertEquals(OrderEvent.Type.CANCELLED, events.get(0).type());
+    }
+
+    @Test
+    void recordCreated_WhenDisabled_ShouldNotTouchDisk() {
+        Path disabledDirectory = directory.resolve("disabled");
+        OrderJournal journal = new OrderJournal(false, disabledDirectory, DataSize.ofMegabytes(1), Duration.ofMillis(10));
+        journal.start();
+        Order order = new Order();
+        order.setId(1L);
+
+        journal.recordCreated(order);
+
+        assertFalse(journal.isRunning());
+        assertFalse(Files.exists(disabledDirectory));
+    }
+
+    @Test
+    void recordCreated_WithoutId_ShouldCountFailureInsteadOfThrowing() {
+        OrderJournal journal = start(DataSize.ofMegabytes(1));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        journal.bindTo(registry);
+        TransactionSynchronizationManager.initSynchronization();
+
+        journal.recordCreated(new Order());
+        assertDoesNotThrow(TransactionSynchronizationUtils::triggerAfterCommit);
+
+        assertTrue(read(journal, 1).isEmpty());
+        assertEquals(1, registry.get("orders.journal.failures").counter().count());
+    }
+
+    @Test
+    void append_WhenStopped_ShouldDropEvent() {
+        OrderJournal journal = start(DataSize.ofMegabytes(1));
+        journal.stop();
+
+        assertEquals(-1, journal.append(OrderEvent.Type.CREATED, 1L, null, OrderStatus.PENDING));
+    }
+
+    private OrderJournal start(DataSize segmentSize) {
+        OrderJournal journal = new OrderJournal(true, directory, segmentSize, Duration.ofMillis(10));
+        journal.start();
+        opened.add(journal);
+        return journal;
+    }
+
+    private static List<OrderEvent> read(OrderJournal journal, long fromSequence) {
+        List<OrderEvent> events = new ArrayList<>();
+        journal.reader(fromSequence).forEachRemaining(events::add);
+        return events;
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.ordermanagement.service;
+
+import com.example.ordermanagement.model.Order;
+import com.example.ordermanagement.model.OrderStatus;
+import com.example.ordermanagement.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({OrderPromotionService.class, OrderCache.class, OrderStatusCounters.class, OrderJournal.class,
+        SchedulerLeases.class})
+@TestPropertySource(properties = {"orders.promotion.chunk-size=2", "orders.promotion.shard-size=" + OrderPromotionServiceTest.SHARD_SIZE,
+        "orders.promotion.min-lease-hold=PT0S"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // chunks commit in their own transactions
+class OrderPromotionServiceTest {
+
+    static final long SHARD_SIZE = 3;
+
+    @Autowired
+    private OrderPromotionService orderPromotionService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+    }
+
+    @Test
+    void promoteShards_ShouldMoveAllMatchingOrdersShardByShardInChunks() {
+        List<Long> pending = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            pending.add(saveOrder(OrderStatus.PENDING).getId());
+        }
+        Order shipped = saveOrder(OrderStatus.SHIPPED);
+        // Chunks of 2 never span shards, so a shard of n orders takes ceil(n / 2) chunks
+        Map<Long, Long> perShard = pending.stream().collect(Collectors.groupingBy(id -> id / SHARD_SIZE, Collectors.counting()));
+
+        PromotionResult result = orderPromotionService.promoteShards(OrderStatus.PENDING, OrderStatus.PROCESSING);
+
+        assertEquals(5, result.rowsMoved());
+        assertEquals(perShard.size(), result.shards());
+        assertEquals(perShard.values().stream().mapToLong(n -> (n + 1) / 2).sum(), result.chunks());
+        assertNotNull(result.duration());
+        assertSame(result, orderPromotionService.getLastResult());
+        assertTrue(orderRepository.findFirstPageIdsByStatus(OrderStatus.PENDING, Pageable.unpaged()).isEmpty());
+        assertEquals(5, orderRepository.findFirstPageIdsByStatus(OrderStatus.PROCESSING, Pageable.unpaged()).size());
+        assertEquals(OrderStatus.SHIPPED, orderRepository.findById(shipped.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void promoteShards_ShouldRefreshUpdatedAt() {
+        Order pending = saveOrder(OrderStatus.PENDING);
+
+        orderPromotionService.promoteShards(OrderStatus.PENDING, OrderStatus.PROCESSING);
+
+        Order promoted = orderRepository.findById(pending.getId()).orElseThrow();
+        assertEquals(OrderStatus.PROCESSING, promoted.getStatus());
+        assertFalse(promoted.getUpdatedAt().isBefore(pending.getUpdatedAt()));
+        assertEquals(pending.getVersion() + 1, promoted.getVersion());
+    }
+
+    @Test
+    void promoteShards_ShouldNotKeepLeasesOfPromotedShards() {
+        int shards = 0;
+        for (int run = 0; run < 3; run++) {
+            // New ids, so every run promotes shards the previous runs never saw
+            for (int i = 0; i < 4; i++) {
+                saveOrder(OrderStatus.PENDING);
+            }
+
+            shards += orderPromotionService.promoteShards(OrderStatus.PENDING, OrderStatus.PROCESSING).shards();
+
+            assertEquals(0, jdbcTemplate.queryForObject(
+                    "select count(*) from scheduler_lease where name like 'order-promotion-PENDING-%'", Long.class));
+        }
+        assertTrue(shards >= 6);
+    }
+
+    @Test
+    void promoteShards_WithNothingToMove_ShouldReportZeroRows() {
+        saveOrder(OrderStatus.DELIVERED);
+
+        PromotionResult result = orderPromotionService.promoteShards(OrderStatus.PENDING, OrderStatus.PROCESSING);
+
+        assertEquals(0, result.rowsMoved());
+        assertEquals(0, result.chunks());
+        assertEquals(0, result.shards());
+    }
+
+    @Nested
+    @TestPropertySource(properties = {
+            "orders.journal.enabled=true",
+            "orders.journal.directory=target/promotion-journal-test/${random.uuid}"})
+    class WithJournal {
+
+        // The enclosing instance keeps the beans of the journal-less context, so these shadow them
+        @Autowired
+        private OrderPromotionService orderPromotionService;
+
+        @Autowired
+        private OrderRepository orderRepository;
+
+        @Autowired
+        private OrderJournal orderJournal;
+
+        @Test
+        void promoteShards_ShouldJournalEachMovedOrder() {
+            List<Long> pending = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                pending.add(saveOrder(orderRepository, OrderStatus.PENDING).getId());
+            }
+
+            orderPromotionService.promoteShards(OrderStatus.PENDING, OrderStatus.PROCESSING);
+            orderJournal.flush();
+
+            // A new journal for this context, and the orders were saved without journaling
+            List<OrderEvent> events = new ArrayList<>();
+            orderJournal.reader(1).forEachRemaining(events::add);
+            assertEquals(pending, events.stream().map(OrderEvent::orderId).toList());
+            assertTrue(events.stream().allMatch(event -> event.type() == OrderEvent.Type.STATUS_CHANGED
+                    && event.from() == OrderStatus.PENDING && event.to() == OrderStatus.PROCESSING));
+        }
+    }
+
+    private Order saveOrder(OrderStatus status) {
+        return saveOrder(orderRepository, status);
+    }
+
+    private static Order saveOrder(OrderRepository orderRepository, OrderStatus status) {
+        Order order = new Order();
+        order.setCustomerName("Customer");
+        order.setStatus(status);
+        return orderRepository.save(order);
+    }
+}
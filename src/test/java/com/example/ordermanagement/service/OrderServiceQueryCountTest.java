@@ -0,0 +1,165 @@
+package com.example.ordermanagement.service;
+
+import com.example.ordermanagement.dto.CursorPage;
+import com.example.ordermanagement.dto.OrderSummary;
+import com.example.ordermanagement.dto.OrderVersion;
+import com.example.ordermanagement.model.Money;
+import com.example.ordermanagement.model.Order;
+import com.example.ordermanagement.model.OrderItem;
+import com.example.ordermanagement.model.OrderStatus;
+import com.example.ordermanagement.repository.OrderRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards against N+1 loading of {@code Order.items}: the number of statements must not depend on
+ * how many orders are returned.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({OrderService.class, OrderPromotionService.class, OrderCache.class, OrderStatusCounters.class, OrderJournal.class,
+        SchedulerLeases.class})
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.ordermanagement.service.SqlStatementCounter"
+})
+class OrderServiceQueryCountTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 40})
+    void getOrders_ShouldUseTwoStatementsRegardlessOfPageSize(int orderCount) {
+        saveOrders(orderCount, OrderStatus.PENDING);
+
+        CursorPage<Order> page = orderService.getOrders(null, null, orderCount);
+        touchItems(page.getContent());
+
+        assertEquals(orderCount, page.getSize());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 40})
+    void getOrderSummaries_ShouldUseOneStatementWithoutLoadingEntities(int orderCount) {
+        saveOrders(orderCount, OrderStatus.PENDING);
+        SqlStatementCounter.clear();
+
+        CursorPage<OrderSummary> page = orderService.getOrderSummaries(OrderStatus.PENDING, null, orderCount);
+
+        assertEquals(orderCount, page.getSize());
+        assertEquals(Money.of("20.00"), page.getContent().get(0).getTotalAmount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertFalse(SqlStatementCounter.last("select").contains("order_item"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 40})
+    void getOrderVersions_ShouldUseTwoStatementsWithoutLoadingEntities(int orderCount) {
+        saveOrders(orderCount + 1, OrderStatus.PENDING);
+        SqlStatementCounter.clear();
+
+        CursorPage<OrderVersion> page = orderService.getOrderVersions(null, null, orderCount);
+
+        assertEquals(orderCount, page.getSize());
+        assertTrue(page.isHasNext());
+        assertEquals(0L, page.getContent().get(0).getVersion());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertFalse(SqlStatementCounter.last("select").contains("order_item"));
+    }
+
+    @Test
+    void getOrderVersion_ShouldNotLoadOrder() {
+        Long id = saveOrders(1, OrderStatus.PENDING);
+
+        assertEquals(0L, orderService.getOrderVersion(id));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void getOrderById_ShouldLoadOrderAndItemsInOneStatement() {
+        Long id = saveOrders(1, OrderStatus.PENDING);
+
+        Order order = orderService.getOrderById(id);
+        touchItems(List.of(order));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 50})
+    void createOrder_ShouldBatchItemInserts(int itemCount) {
+        Order order = new Order();
+        order.setCustomerName("Customer");
+        for (int i = 0; i < itemCount; i++) {
+            order.addItem(new OrderItem("Product " + i, 1, Money.of("1.00")));
+        }
+
+        SqlStatementCounter.clear();
+        statistics.clear();
+        orderService.createOrder(order);
+        entityManager.flush();
+
+        // With IDENTITY ids this was one INSERT statement per item
+        assertEquals(1, SqlStatementCounter.count("insert into order_item"));
+        assertEquals(1, SqlStatementCounter.count("insert into cust_order"));
+        assertEquals(itemCount + 1, statistics.getEntityInsertCount());
+    }
+
+    private Long saveOrders(int count, OrderStatus status) {
+        Long lastId = null;
+        for (int i = 0; i < count; i++) {
+            Order order = new Order();
+            order.setCustomerName("Customer " + i);
+            order.setStatus(status);
+            order.addItem(new OrderItem("Product A", 1, Money.of("10.00")));
+            order.addItem(new OrderItem("Product B", 2, Money.of("5.00")));
+            lastId = entityManager.persistAndFlush(order).getId();
+        }
+        entityManager.clear();
+        statistics.clear();
+        return lastId;
+    }
+
+    private void touchItems(List<Order> orders) {
+        for (Order order : orders) {
+            assertEquals(2, order.getItems().size());
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.example.ordermanagement.service;
 
+import com.example.ordermanagement.dto.CursorPage;
+import com.example.ordermanagement.dto.OrderSummary;
+import com.example.ordermanagement.exception.BadRequestException;
 import com.example.ordermanagement.exception.OrderNotFoundException;
+import com.example.ordermanagement.model.Money;
 import com.example.ordermanagement.model.Order;
 import com.example.ordermanagement.model.OrderItem;
 import com.example.ordermanagement.model.OrderStatus;
@@ -11,13 +15,23 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -27,6 +41,18 @@ class OrderServiceTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private OrderPromotionService orderPromotionService;
+
+    @Mock
+    private OrderStatusCounters orderStatusCounters;
+
+    @Mock
+    private OrderJournal orderJournal;
+
+    @Spy
+    private OrderCache orderCache = new OrderCache(100, Duration.ofMinutes(5));
+
     @InjectMocks
     private OrderService orderService;
 
@@ -39,7 +65,7 @@ class OrderServiceTest {
         testOrderItem.setId(1L);
         testOrderItem.setProductName("Test Product");
         testOrderItem.setQuantity(2);
-        testOrderItem.setPrice(10.0);
+        testOrderItem.setPrice(Money.of("10.00"));
 
         testOrder = new Order();
         testOrder.setId(1L);
@@ -60,11 +86,12 @@ class OrderServiceTest {
         assertEquals(testOrder.getCustomerName(), savedOrder.getCustomerName());
         assertEquals(testOrder.getStatus(), savedOrder.getStatus());
         verify(orderRepository).save(testOrder);
+        verify(orderJournal).recordCreated(testOrder);
     }
 
     @Test
     void getOrderById_WhenOrderExists_ShouldReturnOrder() {
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.findWithItemsById(1L)).thenReturn(Optional.of(testOrder));
 
         Order foundOrder = orderService.getOrderById(1L);
 
@@ -73,85 +100,253 @@ class OrderServiceTest {
         assertEquals(testOrder.getCustomerName(), foundOrder.getCustomerName());
     }
 
+    @Test
+    void getOrderById_WhenCalledTwice_ShouldServeSecondCallFromCache() {
+        when(orderRepository.findWithItemsById(1L)).thenReturn(Optional.of(testOrder));
+
+        orderService.getOrderById(1L);
+        Order cached = orderService.getOrderById(1L);
+
+        assertSame(testOrder, cached);
+        verify(orderRepository, times(1)).findWithItemsById(1L);
+        assertEquals(1, orderCache.stats().hitCount());
+        assertEquals(1, orderCache.stats().missCount());
+    }
+
+    @Test
+    void updateOrderStatus_ShouldEvictCachedOrder() {
+        Order stale = new Order();
+        stale.setId(1L);
+        stale.setStatus(OrderStatus.PENDING);
+        testOrder.setStatus(OrderStatus.PROCESSING);
+        when(orderRepository.findWithItemsById(1L))
+                .thenReturn(Optional.of(stale))
+                .thenReturn(Optional.of(testOrder));
+        when(orderRepository.transitionStatus(eq(1L), any(), eq(OrderStatus.PROCESSING), any(LocalDateTime.class)))
+                .thenReturn(1);
+        orderService.getOrderById(1L);
+
+        Order updatedOrder = orderService.updateOrderStatus(1L, OrderStatus.PROCESSING);
+
+        verify(orderCache).evictAfterCommit(1L);
+        assertSame(testOrder, updatedOrder);
+        verify(orderRepository, times(2)).findWithItemsById(1L);
+    }
+
     @Test
     void getOrderById_WhenOrderDoesNotExist_ShouldThrowException() {
-        when(orderRepository.findById(1L)).thenReturn(Optional.empty());
+        when(orderRepository.findWithItemsById(1L)).thenReturn(Optional.empty());
         assertThrows(OrderNotFoundException.class, () -> orderService.getOrderById(1L));
     }
 
     @Test
-    void getAllOrders_ShouldReturnListOfOrders() {
-        List<Order> orders = Arrays.asList(testOrder);
-        when(orderRepository.findAll()).thenReturn(orders);
+    void getOrdersByCustomerEmail_WhenMoreRowsThanPageSize_ShouldReturnNextCursor() {
+        testOrder.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+        when(orderRepository.findFirstPageIdsByCustomerEmail(eq("test@example.com"), any(Pageable.class)))
+                .thenReturn(Arrays.asList(1L, 2L));
+        when(orderRepository.findByIdIn(eq(List.of(1L)), any(Sort.class))).thenReturn(List.of(testOrder));
+
+        CursorPage<Order> page = orderService.getOrdersByCustomerEmail("test@example.com", null, 1);
+
+        verify(orderRepository).findFirstPageIdsByCustomerEmail(eq("test@example.com"),
+                argThat(pageable -> pageable.getPageSize() == 2));
+        assertEquals(List.of(testOrder), page.getContent());
+        OrderCursor cursor = OrderCursor.decode(page.getNextCursor());
+        assertEquals(testOrder.getCreatedAt(), cursor.createdAt());
+        assertEquals(1L, cursor.id());
+    }
+
+    @Test
+    void getOrdersByCustomerEmail_WithCursor_ShouldSeekPastCursor() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 9, 0);
+        String token = new OrderCursor(createdAt, 7L).encode();
+        when(orderRepository.findPageIdsByCustomerEmailAfter(eq("test@example.com"), eq(createdAt), eq(7L),
+                any(Pageable.class))).thenReturn(List.of(1L));
+        when(orderRepository.findByIdIn(eq(List.of(1L)), any(Sort.class))).thenReturn(List.of(testOrder));
+
+        CursorPage<Order> page = orderService.getOrdersByCustomerEmail("test@example.com", token, null);
+
+        assertEquals(1, page.getSize());
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getOrders_WhenMoreRowsThanPageSize_ShouldReturnNextCursor() {
+        Order second = new Order();
+        second.setId(2L);
+        second.setCreatedAt(LocalDateTime.of(2024, 1, 1, 10, 0));
+        Order third = new Order();
+        third.setId(3L);
+        third.setCreatedAt(LocalDateTime.of(2024, 1, 1, 11, 0));
+        testOrder.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0));
+        when(orderRepository.findFirstPageIds(any(Pageable.class))).thenReturn(Arrays.asList(1L, 2L, 3L));
+        when(orderRepository.findByIdIn(eq(List.of(1L, 2L)), any(Sort.class))).thenReturn(List.of(testOrder, second));
+
+        CursorPage<Order> page = orderService.getOrders(null, null, 2);
+
+        assertEquals(2, page.getSize());
+        assertEquals(List.of(testOrder, second), page.getContent());
+        assertTrue(page.isHasNext());
+        OrderCursor cursor = OrderCursor.decode(page.getNextCursor());
+        assertEquals(second.getCreatedAt(), cursor.createdAt());
+        assertEquals(2L, cursor.id());
+    }
+
+    @Test
+    void getOrders_WithCursorAndStatus_ShouldSeekPastCursor() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 9, 0);
+        String token = new OrderCursor(createdAt, 7L).encode();
+        when(orderRepository.findPageIdsByStatusAfter(eq(OrderStatus.PENDING), eq(createdAt), eq(7L), any(Pageable.class)))
+                .thenReturn(List.of(1L));
+        when(orderRepository.findByIdIn(eq(List.of(1L)), any(Sort.class))).thenReturn(List.of(testOrder));
+
+        CursorPage<Order> page = orderService.getOrders(OrderStatus.PENDING, token, null);
+
+        assertEquals(1, page.getSize());
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void getOrderSummaries_WhenMoreRowsThanPageSize_ShouldReturnNextCursor() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 9, 0);
+        List<OrderSummary> rows = List.of(
+                summary(1L, createdAt), summary(2L, createdAt.plusHours(1)), summary(3L, createdAt.plusHours(2)));
+        when(orderRepository.findFirstSummaryPageByStatus(eq(OrderStatus.PENDING), any(Pageable.class))).thenReturn(rows);
+
+        CursorPage<OrderSummary> page = orderService.getOrderSummaries(OrderStatus.PENDING, null, 2);
+
+        assertEquals(rows.subList(0, 2), page.getContent());
+        OrderCursor cursor = OrderCursor.decode(page.getNextCursor());
+        assertEquals(createdAt.plusHours(1), cursor.createdAt());
+        assertEquals(2L, cursor.id());
+    }
+
+    @Test
+    void getOrderSummaries_WithCursor_ShouldSeekPastCursor() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 9, 0);
+        String token = new OrderCursor(createdAt, 7L).encode();
+        when(orderRepository.findSummaryPageAfter(eq(createdAt), eq(7L), any(Pageable.class)))
+                .thenReturn(List.of(summary(8L, createdAt)));
 
-        List<Order> foundOrders = orderService.getAllOrders();
+        CursorPage<OrderSummary> page = orderService.getOrderSummaries(null, token, null);
 
-        assertNotNull(foundOrders);
-        assertEquals(1, foundOrders.size());
-        assertEquals(testOrder.getId(), foundOrders.get(0).getId());
+        assertEquals(1, page.getSize());
+        assertFalse(page.isHasNext());
     }
 
     @Test
-    void getOrdersByStatus_ShouldReturnFilteredOrders() {
-        List<Order> orders = Arrays.asList(testOrder);
-        when(orderRepository.findByStatus(OrderStatus.PENDING)).thenReturn(orders);
+    void getOrders_ShouldCapPageSize() {
+        when(orderRepository.findFirstPageIds(any(Pageable.class))).thenReturn(List.of());
 
-        List<Order> foundOrders = orderService.getOrdersByStatus(OrderStatus.PENDING);
+        CursorPage<Order> page = orderService.getOrders(null, null, 10_000);
+
+        verify(orderRepository).findFirstPageIds(argThat(pageable -> pageable.getPageSize() == 501));
+        verify(orderRepository, never()).findByIdIn(any(), any());
+        assertTrue(page.getContent().isEmpty());
+    }
 
-        assertNotNull(foundOrders);
-        assertEquals(1, foundOrders.size());
-        assertEquals(OrderStatus.PENDING, foundOrders.get(0).getStatus());
+    @Test
+    void getOrders_WithNonPositiveSize_ShouldThrowException() {
+        assertThrows(BadRequestException.class, () -> orderService.getOrders(null, null, 0));
     }
 
     @Test
     void updateOrderStatus_WhenOrderExists_ShouldUpdateStatus() {
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
-        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+        testOrder.setStatus(OrderStatus.PROCESSING);
+        when(orderRepository.transitionStatus(eq(1L), eq(Set.of(OrderStatus.PENDING)), eq(OrderStatus.PROCESSING),
+                any(LocalDateTime.class))).thenReturn(1);
+        when(orderRepository.findWithItemsById(1L)).thenReturn(Optional.of(testOrder));
 
         Order updatedOrder = orderService.updateOrderStatus(1L, OrderStatus.PROCESSING);
 
         assertNotNull(updatedOrder);
         assertEquals(OrderStatus.PROCESSING, updatedOrder.getStatus());
-        verify(orderRepository).save(testOrder);
+        verify(orderRepository, never()).findStatusById(any());
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(orderJournal).recordTransition(1L, OrderStatus.PENDING, OrderStatus.PROCESSING);
     }
 
     @Test
     void updateOrderStatus_WhenOrderDoesNotExist_ShouldThrowException() {
-        when(orderRepository.findById(1L)).thenReturn(Optional.empty());
+        when(orderRepository.transitionStatus(eq(1L), any(), eq(OrderStatus.PROCESSING), any(LocalDateTime.class)))
+                .thenReturn(0);
+        when(orderRepository.findStatusById(1L)).thenReturn(Optional.empty());
+
         assertThrows(OrderNotFoundException.class, () -> orderService.updateOrderStatus(1L, OrderStatus.PROCESSING));
     }
 
+    @Test
+    void updateOrderStatus_WhenTransitionNotAllowed_ShouldThrowException() {
+        when(orderRepository.transitionStatus(eq(1L), any(), eq(OrderStatus.SHIPPED), any(LocalDateTime.class)))
+                .thenReturn(0);
+        when(orderRepository.findStatusById(1L)).thenReturn(Optional.of(OrderStatus.PENDING));
+
+        assertThrows(IllegalStateException.class, () -> orderService.updateOrderStatus(1L, OrderStatus.SHIPPED));
+        verify(orderRepository, times(1)).transitionStatus(any(), any(), any(), any());
+        verify(orderCache, never()).evictAfterCommit(anyLong());
+        verifyNoInteractions(orderJournal);
+    }
+
+    @Test
+    void updateOrderStatus_WhenLockConflictIsTransient_ShouldRetry() {
+        testOrder.setStatus(OrderStatus.PROCESSING);
+        when(orderRepository.transitionStatus(eq(1L), any(), eq(OrderStatus.PROCESSING), any(LocalDateTime.class)))
+                .thenThrow(new CannotAcquireLockException("lock timeout"))
+                .thenReturn(1);
+        when(orderRepository.findWithItemsById(1L)).thenReturn(Optional.of(testOrder));
+
+        Order updatedOrder = orderService.updateOrderStatus(1L, OrderStatus.PROCESSING);
+
+        assertEquals(OrderStatus.PROCESSING, updatedOrder.getStatus());
+        verify(orderRepository, times(2)).transitionStatus(any(), any(), any(), any());
+    }
+
+    @Test
+    void updateOrderStatus_WhenConflictPersists_ShouldGiveUpAfterMaxAttempts() {
+        when(orderRepository.transitionStatus(eq(1L), any(), eq(OrderStatus.PROCESSING), any(LocalDateTime.class)))
+                .thenThrow(new CannotAcquireLockException("lock timeout"));
+
+        assertThrows(ConcurrencyFailureException.class,
+                () -> orderService.updateOrderStatus(1L, OrderStatus.PROCESSING));
+        verify(orderRepository, times(3)).transitionStatus(any(), any(), any(), any());
+    }
+
     @Test
     void cancelOrder_WhenOrderIsPending_ShouldCancelOrder() {
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
-        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+        testOrder.setStatus(OrderStatus.CANCELLED);
+        when(orderRepository.transitionStatus(eq(1L), eq(Set.of(OrderStatus.PENDING)), eq(OrderStatus.CANCELLED),
+                any(LocalDateTime.class))).thenReturn(1);
+        when(orderRepository.findWithItemsById(1L)).thenReturn(Optional.of(testOrder));
 
         Order cancelledOrder = orderService.cancelOrder(1L);
 
         assertNotNull(cancelledOrder);
         assertEquals(OrderStatus.CANCELLED, cancelledOrder.getStatus());
-        verify(orderRepository).save(testOrder);
+        verify(orderRepository, never()).save(any(Order.class));
     }
 
     @Test
     void cancelOrder_WhenOrderIsNotPending_ShouldThrowException() {
-        testOrder.setStatus(OrderStatus.PROCESSING);
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+        when(orderRepository.transitionStatus(eq(1L), any(), eq(OrderStatus.CANCELLED), any(LocalDateTime.class)))
+                .thenReturn(0);
+        when(orderRepository.findStatusById(1L)).thenReturn(Optional.of(OrderStatus.PROCESSING));
 
         assertThrows(IllegalStateException.class, () -> orderService.cancelOrder(1L));
         verify(orderRepository, never()).save(any(Order.class));
     }
 
     @Test
-    void updatePendingOrdersToProcessing_ShouldUpdateAllPendingOrders() {
-        List<Order> pendingOrders = Arrays.asList(testOrder);
-        when(orderRepository.findByStatus(OrderStatus.PENDING)).thenReturn(pendingOrders);
-        when(orderRepository.saveAll(anyList())).thenReturn(pendingOrders);
-
+    void updatePendingOrdersToProcessing_ShouldDelegateToShardedPromotion() {
         orderService.updatePendingOrdersToProcessing();
 
-        verify(orderRepository).findByStatus(OrderStatus.PENDING);
-        verify(orderRepository).saveAll(pendingOrders);
-        assertEquals(OrderStatus.PROCESSING, pendingOrders.get(0).getStatus());
+        verify(orderPromotionService).promoteShards(OrderStatus.PENDING, OrderStatus.PROCESSING);
+        verify(orderRepository, never()).saveAll(anyList());
+    }
+
+    private static OrderSummary summary(Long id, LocalDateTime createdAt) {
+        return new OrderSummary(id, "Customer " + id, null, OrderStatus.PENDING, 0L, createdAt, createdAt,
+                1000L, Money.DEFAULT_CURRENCY);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,154 @@
+package com.example.ordermanagement.service;
+
+import com.example.ordermanagement.model.Order;
+import com.example.ordermanagement.model.OrderStatus;
+import com.example.ordermanagement.repository.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Races several threads through the same status transitions on the same rows: every transition must
+ * be applied exactly once, so no writer overwrites another's status and no version increment is lost.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({OrderService.class, OrderPromotionService.class, OrderCache.class, OrderStatusCounters.class, OrderJournal.class,
+        SchedulerLeases.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // every transition commits on its own
+class OrderStatusConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int ORDERS = 20;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderStatusCounters orderStatusCounters;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        orderStatusCounters.reconcile();
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentLifecycleTransitions_ShouldEachApplyExactlyOnce() throws Exception {
+        List<Long> ids = saveOrders();
+        List<OrderStatus> lifecycle = List.of(OrderStatus.PROCESSING, OrderStatus.SHIPPED, OrderStatus.DELIVERED);
+        AtomicInteger applied = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+
+        race(thread -> {
+            for (Long id : ids) {
+                for (OrderStatus target : lifecycle) {
+                    try {
+                        orderService.updateOrderStatus(id, target);
+                        applied.incrementAndGet();
+                    } catch (IllegalStateException ex) {
+                        rejected.incrementAndGet();
+                    }
+                }
+            }
+        });
+
+        assertEquals(ORDERS * lifecycle.size(), applied.get());
+        assertEquals(ORDERS * lifecycle.size() * (THREADS - 1), rejected.get());
+        for (Order order : orderRepository.findAllById(ids)) {
+            assertEquals(OrderStatus.DELIVERED, order.getStatus());
+            assertEquals(lifecycle.size(), order.getVersion());
+        }
+        assertEquals((long) ORDERS, orderStatusCounters.snapshot().get(OrderStatus.DELIVERED));
+        assertTrue(orderStatusCounters.reconcile().isEmpty());
+    }
+
+    @Test
+    void concurrentCancelAndProcess_ShouldHaveExactlyOneWinnerPerOrder() throws Exception {
+        List<Long> ids = saveOrders();
+        Map<Long, OrderStatus> winners = new ConcurrentHashMap<>();
+        AtomicInteger rejected = new AtomicInteger();
+
+        race(thread -> {
+            OrderStatus target = thread % 2 == 0 ? OrderStatus.CANCELLED : OrderStatus.PROCESSING;
+            for (Long id : ids) {
+                try {
+                    orderService.updateOrderStatus(id, target);
+                    assertNull(winners.putIfAbsent(id, target), "Second winner for order " + id);
+                } catch (IllegalStateException ex) {
+                    rejected.incrementAndGet();
+                }
+            }
+        });
+
+        assertEquals(ORDERS, winners.size());
+        assertEquals(ORDERS * (THREADS - 1), rejected.get());
+        for (Order order : orderRepository.findAllById(ids)) {
+            assertEquals(winners.get(order.getId()), order.getStatus());
+            assertEquals(1, order.getVersion());
+        }
+        assertTrue(orderStatusCounters.reconcile().isEmpty());
+    }
+
+    private void race(ThreadBody body) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            int thread = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                body.run(thread);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+    }
+
+    private List<Long> saveOrders() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order();
+            order.setCustomerName("Customer " + i);
+            ids.add(orderService.createOrder(order).getId());
+        }
+        return ids;
+    }
+
+    @FunctionalInterface
+    private interface ThreadBody {
+        void run(int thread);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.ordermanagement.service;
+
+import com.example.ordermanagement.model.Order;
+import com.example.ordermanagement.model.OrderStatus;
+import com.example.ordermanagement.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({OrderService.class, OrderPromotionService.class, OrderCache.class, OrderStatusCounters.class, OrderJournal.class,
+        SchedulerLeases.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // counters only move once a write commits
+class OrderStatusCountersTest {
+
+    @Autowired
+    private OrderStatusCounters orderStatusCounters;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderPromotionService orderPromotionService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        orderStatusCounters.seed();
+    }
+
+    @Test
+    void seed_ShouldCountExistingOrdersPerStatus() {
+        saveDirectly(OrderStatus.PENDING);
+        saveDirectly(OrderStatus.PENDING);
+        saveDirectly(OrderStatus.SHIPPED);
+
+        orderStatusCounters.seed();
+
+        Map<OrderStatus, Long> counts = orderStatusCounters.snapshot();
+        assertEquals(2L, counts.get(OrderStatus.PENDING));
+        assertEquals(1L, counts.get(OrderStatus.SHIPPED));
+        assertEquals(0L, counts.get(OrderStatus.DELIVERED));
+        assertEquals(OrderStatus.values().length, counts.size());
+    }
+
+    @Test
+    void writes_ShouldKeepCountersInStepWithDatabase() {
+        Long processed = create().getId();
+        Long cancelled = create().getId();
+        create();
+        create();
+
+        orderService.updateOrderStatus(processed, OrderStatus.PROCESSING);
+        orderService.cancelOrder(cancelled);
+        orderPromotionService.promoteShards(OrderStatus.PENDING, OrderStatus.PROCESSING);
+
+        Map<OrderStatus, Long> counts = orderStatusCounters.snapshot();
+        assertEquals(0L, counts.get(OrderStatus.PENDING));
+        assertEquals(3L, counts.get(OrderStatus.PROCESSING));
+        assertEquals(1L, counts.get(OrderStatus.CANCELLED));
+        assertTrue(orderStatusCounters.reconcile().isEmpty());
+    }
+
+    @Test
+    void rejectedTransition_ShouldNotChangeCounters() {
+        Long id = create().getId();
+        orderService.cancelOrder(id);
+
+        assertThrows(IllegalStateException.class, () -> orderService.updateOrderStatus(id, OrderStatus.PROCESSING));
+
+        assertEquals(0L, orderStatusCounters.snapshot().get(OrderStatus.PROCESSING));
+        assertEquals(1L, orderStatusCounters.snapshot().get(OrderStatus.CANCELLED));
+    }
+
+    @Test
+    void rolledBackCreate_ShouldNotBeCounted() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            create();
+            status.setRollbackOnly();
+        });
+
+        assertEquals(0L, orderStatusCounters.snapshot().get(OrderStatus.PENDING));
+        assertTrue(orderStatusCounters.reconcile().isEmpty());
+    }
+
+    @Test
+    void reconcile_ShouldReportAndCorrectDrift() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        orderStatusCounters.bindTo(registry);
+        Long id = create().getId();
+        // Bypasses the service, so the counters do not see it
+        orderRepository.transitionStatus(id, Set.of(OrderStatus.PENDING), OrderStatus.SHIPPED, LocalDateTime.now());
+
+        Map<OrderStatus, Long> drift = orderStatusCounters.reconcile();
+
+        assertEquals(Map.of(OrderStatus.PENDING, -1L, OrderStatus.SHIPPED, 1L), drift);
+        assertEquals(0L, orderStatusCounters.snapshot().get(OrderStatus.PENDING));
+        assertEquals(1L, orderStatusCounters.snapshot().get(OrderStatus.SHIPPED));
+        assertEquals(1.0, registry.get("orders.status.drift").tag("status", "SHIPPED").counter().count());
+        assertEquals(1.0, registry.get("orders.status.count").tag("status", "SHIPPED").gauge().value());
+        assertTrue(orderStatusCounters.reconcile().isEmpty());
+    }
+
+    private Order create() {
+        Order order = new Order();
+        order.setCustomerName("Customer");
+        return orderService.createOrder(order);
+    }
+
+    private void saveDirectly(OrderStatus status) {
+        Order order = new Order();
+        order.setCustomerName("Customer");
+        order.setStatus(status);
+        orderRepository.save(order);
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.ordermanagement.service;
+
+import com.example.ordermanagement.OrderManagementApplication;
+import com.example.ordermanagement.model.Money;
+import com.example.ordermanagement.model.Order;
+import com.example.ordermanagement.model.OrderItem;
+import com.example.ordermanagement.model.OrderStatus;
+import com.example.ordermanagement.repository.OrderRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Several application contexts on one file database, standing in for instances of the service
+ * sharing a database. In one JVM they share H2's in-process database, as separate processes would
+ * through {@code orders.storage.auto-server=true}.
+ */
+class ShardedPromotionTest {
+
+    private static final Path DIRECTORY = Path.of("target", "sharded-promotion-test", UUID.randomUUID().toString());
+    private static final int INSTANCES = 3;
+    private static final int SHARD_SIZE = 100;
+
+    private static final List<ConfigurableApplicationContext> instances = new ArrayList<>();
+
+    @BeforeAll
+    static void startInstances() {
+        for (int i = 0; i < INSTANCES; i++) {
+            instances.add(new SpringApplicationBuilder(OrderManagementApplication.class)
+                    .profiles("durable", "test")
+                    .web(WebApplicationType.NONE)
+                    .run("--orders.storage.database=./" + DIRECTORY.resolve("orders"),
+                            "--orders.promotion.shard-size=" + SHARD_SIZE,
+                            "--orders.promotion.chunk-size=10",
+                            "--orders.scheduler.instance-id=instance-" + i));
+        }
+    }
+
+    @AfterAll
+    static void stopInstances() {
+        instances.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void promoteShards_OnEveryInstance_ShouldPromoteEachShardOnce() throws Exception {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Order order = new Order();
+            order.setCustomerName("Sharded Customer " + i);
+            order.addItem(new OrderItem("Product", 1, Money.of("1.00")));
+            orders.add(order);
+        }
+        List<Long> ids = bean(0, OrderRepository.class).saveAll(orders).stream().map(Order::getId).toList();
+        long shardCount = ids.stream().map(id -> id / SHARD_SIZE).distinct().count();
+
+        List<PromotionResult> results = onEveryInstance(instance ->
+                bean(instance, OrderPromotionService.class).promoteShards(OrderStatus.PENDING, OrderStatus.PROCESSING));
+
+        assertEquals(ids.size(), results.stream().mapToLong(PromotionResult::rowsMoved).sum());
+        // Finished shards stay leased, so no instance promotes a shard another one already did
+        assertEquals(shardCount, results.stream().mapToInt(PromotionResult::shards).sum());
+        OrderRepository repository = bean(INSTANCES - 1, OrderRepository.class);
+        assertTrue(repository.findFirstPageIdsByStatus(OrderStatus.PENDING, Pageable.unpaged()).isEmpty());
+        assertTrue(repository.findAllById(ids).stream().allMatch(order -> order.getVersion() == 1));
+        assertEquals(shardCount, bean(0, JdbcTemplate.class).queryForObject(
+                "select count(*) from scheduler_lease where name like 'order-promotion-PENDING-%'", Long.class));
+    }
+
+    @Test
+    void lease_HeldByOneInstance_ShouldExcludeOthersUntilReleased() {
+        SchedulerLeases first = bean(0, SchedulerLeases.class);
+        SchedulerLeases second = bean(1, SchedulerLeases.class);
+        String lease = "test-" + UUID.randomUUID();
+
+        assertTrue(first.tryAcquire(lease, Duration.ofMinutes(1)));
+        assertFalse(second.tryAcquire(lease, Duration.ofMinutes(1)));
+        assertTrue(first.renew(lease, Duration.ofMinutes(1)));
+
+        first.release(lease, LocalDateTime.now());
+
+        assertTrue(second.tryAcquire(lease, Duration.ofMinutes(1)));
+        assertFalse(first.renew(lease, Duration.ofMinutes(1)));
+        assertFalse(first.tryAcquire(lease, Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void lease_WhenInstancesRace_ShouldGoToExactlyOne() throws Exception {
+        for (int round = 0; round < 20; round++) {
+            String lease = "race-" + UUID.randomUUID();
+
+            // A new lease is decided by the primary key, ...
+            List<Boolean> created = onEveryInstance(instance ->
+                    bean(instance, SchedulerLeases.class).tryAcquire(lease, Duration.ofMinutes(1)));
+            assertEquals(1, created.stream().filter(acquired -> acquired).count());
+            bean(created.indexOf(true), SchedulerLeases.class).release(lease, LocalDateTime.now());
+
+            // ... a released one by the row lock of the conditional UPDATE
+            assertEquals(1, onEveryInstance(instance ->
+                    bean(instance, SchedulerLeases.class).tryAcquire(lease, Duration.ofMinutes(1)))
+                    .stream().filter(acquired -> acquired).count());
+        }
+    }
+
+    private interface InstanceTask<T> {
+        T run(int instance) throws Exception;
+    }
+
+    // Starts the task on every instance at once
+    private static <T> List<T> onEveryInstance(InstanceTask<T> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(INSTANCES);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < INSTANCES; i++) {
+                int instance = i;
+                Callable<T> call = () -> {
+                    start.await();
+                    return task.run(instance);
+                };
+                futures.add(executor.submit(call));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static <T> T bean(int instance, Class<T> type) {
+        return instances.get(instance).getBean(type);
+    }
+}
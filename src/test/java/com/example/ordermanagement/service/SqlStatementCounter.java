@@ -0,0 +1,37 @@
+package com.example.ordermanagement.service;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Records every SQL statement Hibernate prepares. A batched INSERT is prepared once per batch.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    public static void clear() {
+        STATEMENTS.clear();
+    }
+
+    public static String last(String prefix) {
+        for (int i = STATEMENTS.size() - 1; i >= 0; i--) {
+            if (STATEMENTS.get(i).startsWith(prefix)) {
+                return STATEMENTS.get(i);
+            }
+        }
+        throw new IllegalStateException("No statement starting with '" + prefix + "'");
+    }
+
+    public static long count(String prefix) {
+        return STATEMENTS.stream().filter(sql -> sql.startsWith(prefix)).count();
+    }
+}
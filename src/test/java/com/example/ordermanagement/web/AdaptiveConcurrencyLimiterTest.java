@@ -0,0 +1,148 @@
+package com.example.ordermanagement.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final Duration THRESHOLD = Duration.ofMillis(100);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void tryAcquire_ShouldRejectAtLimitUntilReleased() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 1, 10);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+
+        limiter.release(limiter.now(), false);
+
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void fastRequests_WhenLimitIsUsed_ShouldIncreaseLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 1, 5);
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire();
+        }
+
+        for (int i = 0; i < 4; i++) {
+            long start = limiter.now();
+            clock.addAndGet(Duration.ofMillis(10).toNanos());
+            limiter.release(start, true);
+        }
+
+        // +1 while at least half the limit was in flight, capped at the maximum
+        assertEquals(5, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void fastRequests_WhenLimitIsMostlyIdle_ShouldKeepLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 1, 20);
+        limiter.tryAcquire();
+
+        limiter.release(limiter.now(), true);
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void slowRequests_ShouldBackOffOncePerRoundTrip() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20, 1, 50);
+        clock.addAndGet(1);
+        long firstStart = limiter.now();
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+        clock.addAndGet(Duration.ofMillis(200).toNanos());
+
+        limiter.release(firstStart, true);
+        limiter.release(firstStart, true);
+        assertEquals(18, limiter.getLimit());
+
+        // Admitted after the decrease, so it may lower the limit again
+        long laterStart = limiter.now() + 1;
+        clock.set(laterStart);
+        limiter.tryAcquire();
+        clock.addAndGet(Duration.ofMillis(200).toNanos());
+        limiter.release(laterStart, true);
+        assertEquals(16, limiter.getLimit());
+    }
+
+    @Test
+    void slowRequests_ShouldNotGoBelowMinimum() {
+        AdaptiveConcurrencyLimiter limiter = limiter(3, 2, 10);
+        for (int i = 0; i < 5; i++) {
+            clock.addAndGet(1);
+            long start = limiter.now();
+            limiter.tryAcquire();
+            clock.addAndGet(Duration.ofSeconds(1).toNanos());
+            limiter.release(start, true);
+        }
+
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void unsampledRequest_ShouldNotMoveLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 1, 20);
+        clock.addAndGet(1);
+        long start = limiter.now();
+        limiter.tryAcquire();
+        clock.addAndGet(Duration.ofMinutes(1).toNanos());
+
+        limiter.release(start, false);
+
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void concurrentRequests_ShouldNeverExceedLimit() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 4, 4, THRESHOLD, 0.5);
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger maxInside = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int t = 0; t < 16; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 2000; i++) {
+                        if (limiter.tryAcquire()) {
+                            maxInside.accumulateAndGet(inside.incrementAndGet(), Math::max);
+                            inside.decrementAndGet();
+                            limiter.release(limiter.now(), false);
+                        }
+                    }
+                }));
+            }
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        assertTrue(maxInside.get() <= 4);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void constructor_WithInvalidLimits_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(5, 10, 20, THRESHOLD, 0.9));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(5, 1, 20, THRESHOLD, 1.0));
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initial, int min, int max) {
+        return new AdaptiveConcurrencyLimiter(initial, min, max, THRESHOLD, 0.9, clock::get);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.ordermanagement.web;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlFilterTest {
+
+    private final AtomicLong clock = new AtomicLong(1);
+
+    private AdmissionControlFilter filter;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        filter = new AdmissionControlFilter(
+                new AdaptiveConcurrencyLimiter(2, 1, 10, Duration.ofMillis(100), 0.5, clock::get),
+                new AdaptiveConcurrencyLimiter(2, 1, 10, Duration.ofMillis(100), 0.5, clock::get),
+                Set.of("/api/orders/export"));
+        meterRegistry = new SimpleMeterRegistry();
+        filter.bindTo(meterRegistry);
+    }
+
+    @Test
+    void requestOverReadLimit_ShouldGet503WhileWritesAreAdmitted() throws Exception {
+        filter.getReadLimiter().tryAcquire();
+        filter.getReadLimiter().tryAcquire();
+
+        MockHttpServletResponse rejected = perform("GET", "/api/orders/1", new MockFilterChain());
+        MockHttpServletResponse write = perform("POST", "/api/orders", new MockFilterChain());
+
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertEquals(200, write.getStatus());
+        assertEquals(1.0, meterRegistry.get("orders.admission.rejected").tag("type", "read").counter().count());
+        assertEquals(0.0, meterRegistry.get("orders.admission.rejected").tag("type", "write").counter().count());
+    }
+
+    @Test
+    void admittedRequest_ShouldBeReleasedEvenWhenHandlerFails() {
+        FilterChain failing = (request, response) -> {
+            throw new IllegalStateException("boom");
+        };
+
+        assertThrows(IllegalStateException.class, () -> perform("PUT", "/api/orders/1/cancel", failing));
+
+        assertEquals(0, filter.getWriteLimiter().getInFlight());
+    }
+
+    @Test
+    void slowRequest_ShouldLowerLimitUnlessPathIsUnsampled() throws Exception {
+        FilterChain slow = (request, response) -> clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        clock.addAndGet(1); // after the limiter was created, so a slow request may lower the limit
+
+        perform("GET", "/api/orders/export", slow);
+        assertEquals(2, filter.getReadLimiter().getLimit());
+
+        perform("GET", "/api/orders", slow);
+        assertEquals(1, filter.getReadLimiter().getLimit());
+        assertEquals(1.0, meterRegistry.get("orders.admission.limit").tag("type", "read").gauge().value());
+    }
+
+    private MockHttpServletResponse perform(String method, String uri, FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}